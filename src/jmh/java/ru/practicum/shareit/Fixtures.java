@@ -0,0 +1,51 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовые данные для бенчмарков.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static User user(long id) {
+        return new User(id, "user" + id, "user" + id + "@mail.ru");
+    }
+
+    public static Item item(long id, User owner, ItemRequest request) {
+        return new Item(id, "item" + id, "description of item " + id, true, owner, request);
+    }
+
+    public static ItemRequest request(long id, User requestor, LocalDateTime created) {
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription("request " + id);
+        request.setRequestor(requestor);
+        request.setCreated(created);
+        return request;
+    }
+
+    /**
+     * Неперекрывающиеся бронирования вещи длиной в час, половина из которых уже закончилась.
+     */
+    public static List<Booking> bookings(Item item, int count, LocalDateTime now, long firstId) {
+        List<Booking> bookings = new ArrayList<>(count);
+        LocalDateTime start = now.minusHours(count);
+        for (int i = 0; i < count; i++) {
+            Status status = i % 4 == 3 ? Status.WAITING : Status.APPROVED;
+            bookings.add(new Booking(firstId + i, item, user(1000 + i % 50), status,
+                    start.plusHours(2L * i), start.plusHours(2L * i + 1)));
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Заглушки репозиториев для бенчмарков: методы из переданной таблицы возвращают заранее подготовленный результат,
+ * остальные завершаются ошибкой. Так измеряется только логика сервисов, без базы и без Mockito.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static <T> T of(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (results.containsKey(method.getName())) {
+                return results.get(method.getName());
+            }
+            if (method.getName().equals("toString")) {
+                return "stub " + type.getSimpleName();
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        }));
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.Stubs;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения периода с бронированиями вещи — то, что выполняется при каждом создании бронирования.
+ * Интервалы загружаются в индекс один раз при подготовке, замеряется только поиск.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingIntervalIndexBenchmark {
+    private static final long ITEM_ID = 1;
+
+    @Param({"10", "1000", "100000"})
+    private int bookings;
+
+    private BookingIntervalIndex index;
+    private LocalDateTime now;
+    private LocalDateTime lastEnd;
+
+    @Setup
+    public void setUp() {
+        now = LocalDateTime.now();
+        Item item = Fixtures.item(ITEM_ID, Fixtures.user(1), null);
+        BookingRepository bookingRepository = Stubs.of(BookingRepository.class, Map.of(
+                "findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc", Fixtures.bookings(item, bookings, now, 1)));
+        index = new BookingIntervalIndex(bookingRepository, 100);
+        lastEnd = now.plusHours(bookings);
+        index.overlaps(ITEM_ID, now, now);
+    }
+
+    @Benchmark
+    public boolean overlapsExisting() {
+        return index.overlaps(ITEM_ID, now.minusMinutes(30), now.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean overlapsFreeSlot() {
+        return index.overlaps(ITEM_ID, lastEnd.plusHours(1), lastEnd.plusHours(2));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    private final BookingMapper bookingMapper = new BookingMapper(new UserMapper(), new ItemMapper(new UserMapper()));
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        booking = Fixtures.bookings(Fixtures.item(1, Fixtures.user(1), null), 1, LocalDateTime.now(), 1).get(0);
+    }
+
+    @Benchmark
+    public BookingDTO fromEntity() {
+        return bookingMapper.fromEntity(booking);
+    }
+}
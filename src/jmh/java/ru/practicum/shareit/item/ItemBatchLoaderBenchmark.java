@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.Stubs;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointers;
+import ru.practicum.shareit.booking.ItemBookingPointersRepository;
+import ru.practicum.shareit.comments.CommentMapper;
+import ru.practicum.shareit.comments.CommentRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заполнение последнего и следующего бронирования для страницы вещей владельца: по готовым ссылкам
+ * item_booking_pointers и по полной истории бронирований, когда ссылки устарели.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemBatchLoaderBenchmark {
+    private static final int ITEMS = 20;
+
+    @Param({"10", "1000"})
+    private int bookingsPerItem;
+
+    private ItemBatchLoader fromPointers;
+    private ItemBatchLoader fromHistory;
+    private List<ItemCommentsDTO> items;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        ItemMapper itemMapper = new ItemMapper(new UserMapper());
+        User owner = Fixtures.user(1);
+        items = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<ItemBookingPointers> pointers = new ArrayList<>();
+        List<ItemBookingPointers> stalePointers = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            Item item = Fixtures.item(id, owner, null);
+            items.add(itemMapper.toItemCommentDto(item));
+            List<Booking> itemBookings = Fixtures.bookings(item, bookingsPerItem, now, id * bookingsPerItem);
+            bookings.addAll(itemBookings);
+            pointers.add(new ItemBookingPointers(id, itemBookings.get(0), itemBookings.get(itemBookings.size() - 1), null));
+            stalePointers.add(new ItemBookingPointers(id, null, itemBookings.get(0), null));
+        }
+        fromPointers = loader(pointers, bookings, itemMapper);
+        fromHistory = loader(stalePointers, bookings, itemMapper);
+    }
+
+    @Benchmark
+    public List<ItemCommentsDTO> loadBookingsFromPointers() {
+        fromPointers.loadBookings(items);
+        return items;
+    }
+
+    @Benchmark
+    public List<ItemCommentsDTO> loadBookingsFromHistory() {
+        fromHistory.loadBookings(items);
+        return items;
+    }
+
+    private static ItemBatchLoader loader(List<ItemBookingPointers> pointers, List<Booking> bookings, ItemMapper itemMapper) {
+        return new ItemBatchLoader(
+                Stubs.of(CommentRepository.class, Map.of()),
+                new CommentMapper(),
+                Stubs.of(BookingRepository.class, Map.of("findAllByItemIdInAndStatusIn", bookings)),
+                Stubs.of(ItemBookingPointersRepository.class, Map.of("findAllByItemIdIn", pointers)),
+                Stubs.of(ItemRepository.class, Map.of()),
+                itemMapper);
+    }
+}
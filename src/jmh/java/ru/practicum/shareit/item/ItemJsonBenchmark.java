@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.booking.BookingHistoryDto;
+import ru.practicum.shareit.comments.CommentDTO;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация ответа GET /items: вещи с бронированиями и комментариями.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemJsonBenchmark {
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100"})
+    private int items;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<ItemCommentsDTO> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        ItemMapper itemMapper = new ItemMapper(new UserMapper());
+        page = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            ItemCommentsDTO item = itemMapper.toItemCommentDto(Fixtures.item(id, Fixtures.user(1), null));
+            item.setLastBooking(new BookingHistoryDto(id, 2, now.minusDays(2), now.minusDays(1)));
+            item.setNextBooking(new BookingHistoryDto(id + 1, 3, now.plusDays(1), now.plusDays(2)));
+            List<CommentDTO> comments = new ArrayList<>();
+            for (long c = 0; c < COMMENTS_PER_ITEM; c++) {
+                comments.add(new CommentDTO(id * COMMENTS_PER_ITEM + c, "Отличная вещь, всё работает", "user" + c, now));
+            }
+            item.setComments(comments);
+            page.add(item);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeItemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
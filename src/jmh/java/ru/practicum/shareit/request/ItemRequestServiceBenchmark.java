@@ -0,0 +1,88 @@
+package ru.practicum.shareit.request;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.Stubs;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointersRepository;
+import ru.practicum.shareit.comments.CommentMapper;
+import ru.practicum.shareit.comments.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemBatchLoader;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница чужих запросов с ответившими на них вещами: группировка вещей по запросам и преобразование в DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    private static final int REQUESTS = 20;
+
+    @Param({"1", "10"})
+    private int itemsPerRequest;
+
+    private ItemRequestService itemRequestService;
+    private final PageRequest page = PageRequest.of(0, REQUESTS);
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User requestor = Fixtures.user(1);
+        User owner = Fixtures.user(2);
+        List<ItemRequest> requests = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        long itemId = 1;
+        for (long id = 1; id <= REQUESTS; id++) {
+            ItemRequest request = Fixtures.request(id, requestor, now.minusHours(id));
+            requests.add(request);
+            for (int i = 0; i < itemsPerRequest; i++) {
+                items.add(Fixtures.item(itemId++, owner, request));
+            }
+        }
+        ItemMapper itemMapper = new ItemMapper(new UserMapper());
+        ItemBatchLoader itemBatchLoader = new ItemBatchLoader(
+                Stubs.of(CommentRepository.class, Map.of()),
+                new CommentMapper(),
+                Stubs.of(BookingRepository.class, Map.of()),
+                Stubs.of(ItemBookingPointersRepository.class, Map.of()),
+                Stubs.of(ItemRepository.class, Map.of("findAllByRequestIdIn", items)),
+                itemMapper);
+        itemRequestService = new ItemRequestServiceImpl(
+                Stubs.of(ItemRequestRepository.class, Map.of("findAllByRequestorIdNot", new SliceImpl<>(requests))),
+                Stubs.of(UserRepository.class, Map.of("existsById", true)),
+                new ItemRequestMapper(),
+                itemBatchLoader);
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoResponse> getOtherRequests() {
+        return itemRequestService.getOtherRequests(3L, page);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Идентификаторы из базы, от имени которых и над которыми выполняются сценарии:
+ * виртуальные пользователи, доступные для бронирования вещи с их владельцами и владельцы вещей.
+ */
+class Dataset {
+    private static final int ITEM_LIMIT = 10000;
+
+    private final long[] users;
+    private final long[] items;
+    private final long[] itemOwners;
+    private final long[] owners;
+
+    Dataset(JdbcTemplate jdbcTemplate, int virtualUsers) {
+        users = toArray(jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT ?", Long.class, virtualUsers));
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, owner_id FROM items WHERE is_available ORDER BY id LIMIT ?", ITEM_LIMIT);
+        items = new long[rows.size()];
+        itemOwners = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            items[i] = ((Number) rows.get(i).get("id")).longValue();
+            itemOwners[i] = ((Number) rows.get(i).get("owner_id")).longValue();
+        }
+        owners = toArray(jdbcTemplate.queryForList(
+                "SELECT DISTINCT owner_id FROM items ORDER BY owner_id LIMIT ?", Long.class, virtualUsers));
+        if (users.length < 2 || items.length == 0) {
+            throw new IllegalStateException("В базе нет данных для нагрузки: запустите с профилем datagen " +
+                    "или заполните базу заранее");
+        }
+    }
+
+    long user(Random random) {
+        return users[random.nextInt(users.length)];
+    }
+
+    long owner(Random random) {
+        return owners[random.nextInt(owners.length)];
+    }
+
+    int item(Random random) {
+        return random.nextInt(items.length);
+    }
+
+    long itemId(int item) {
+        return items[item];
+    }
+
+    long itemOwner(int item) {
+        return itemOwners[item];
+    }
+
+    int userCount() {
+        return users.length;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Отправляет запросы сценариев и записывает задержку каждого ответа от запланированного момента отправки,
+ * а не от фактического: очередь на стороне клиента тоже попадает в замер.
+ */
+class LoadDriver {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadStats stats;
+    private final ObjectMapper objectMapper;
+    private final Dataset dataset;
+    private final AtomicLong bookingSlots = new AtomicLong();
+    /**
+     * Новые бронирования ставятся за окном сгенерированных, по два часа на каждое, чтобы не конфликтовать
+     * ни с ними, ни друг с другом.
+     */
+    private final LocalDateTime bookingsFrom = LocalDate.now().plusDays(120).atStartOfDay();
+
+    LoadDriver(HttpClient httpClient, URI baseUri, LoadStats stats, ObjectMapper objectMapper, Dataset dataset) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.stats = stats;
+        this.objectMapper = objectMapper;
+        this.dataset = dataset;
+    }
+
+    Dataset dataset() {
+        return dataset;
+    }
+
+    CompletableFuture<HttpResponse<String>> get(String endpoint, String path, long userId, long intendedStart) {
+        return send(endpoint, request(path, userId).GET(), intendedStart, intendedStart);
+    }
+
+    CompletableFuture<?> bookAndApprove(Random random, long intendedStart) {
+        int item = dataset.item(random);
+        long owner = dataset.itemOwner(item);
+        long booker = dataset.user(random);
+        while (booker == owner) {
+            booker = dataset.user(random);
+        }
+        LocalDateTime start = bookingsFrom.plusHours(2 * bookingSlots.getAndIncrement());
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                dataset.itemId(item), start, start.plusHours(1));
+        HttpRequest.Builder create = request("/bookings", booker)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        return send("POST /bookings", create, intendedStart, intendedStart).thenCompose(response -> {
+            if (response.statusCode() != 200) {
+                return CompletableFuture.completedFuture(response);
+            }
+            HttpRequest.Builder approve = request("/bookings/" + bookingId(response) + "?approved=true", owner)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+            return send("PATCH /bookings/{id}", approve, intendedStart, System.nanoTime());
+        });
+    }
+
+    /**
+     * @param scenarioStart момент, на который запланирован сценарий: по нему запрос относится к прогреву или замеру
+     * @param requestStart  момент, от которого считается задержка этого запроса
+     */
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest.Builder request,
+                                                         long scenarioStart, long requestStart) {
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> stats.record(endpoint, scenarioStart, requestStart, System.nanoTime(),
+                        error != null || response.statusCode() >= 400));
+    }
+
+    private HttpRequest.Builder request(String path, long userId) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header(USER_HEADER, Long.toString(userId));
+    }
+
+    private long bookingId(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика прогона по эндпоинтам. Запросы, запланированные на время прогрева, не учитываются.
+ */
+class LoadStats {
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final long measureFrom;
+
+    LoadStats(long measureFrom) {
+        this.measureFrom = measureFrom;
+    }
+
+    void record(String endpoint, long scenarioStart, long requestStart, long completed, boolean failed) {
+        if (scenarioStart >= measureFrom) {
+            endpoints.computeIfAbsent(endpoint, e -> new EndpointStats()).record(completed - requestStart, failed);
+        }
+    }
+
+    void drop(long intendedStart) {
+        if (intendedStart >= measureFrom) {
+            dropped.increment();
+        }
+    }
+
+    String report(Duration measured) {
+        StringBuilder report = new StringBuilder(String.format("%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        double seconds = measured.toMillis() / 1000.0;
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> report.append(String.format(
+                "%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, stats.count(), stats.errors(), stats.count() / seconds, stats.percentileMillis(50),
+                stats.percentileMillis(99), stats.percentileMillis(99.9), stats.maxMillis())));
+        report.append(String.format("Не отправлено из-за предела одновременных запросов: %d%n", dropped.sum()));
+        return report.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Поднимает ShareItApp на случайном порту и подаёт на него нагрузку по открытой модели: запросы приходят
+ * пуассоновским потоком с частотой {@code loadtest.rate} в секунду независимо от того, успел ли сервер
+ * ответить на предыдущие. Сценарии выбираются по весам {@code loadtest.mix.*}, запросы отправляются от имени
+ * первых {@code loadtest.users} пользователей базы. По умолчанию база — H2 с данными профиля datagen,
+ * для локального PostgreSQL достаточно передать {@code --spring.profiles.active=datagen}.
+ * <p>
+ * Все аргументы командной строки передаются приложению, поэтому в них же задаются и объёмы shareit.datagen.*.
+ */
+@Slf4j
+public class LoadTest {
+    private static final Map<String, String> DEFAULT_ARGS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_ARGS.put("spring.profiles.active", "test,datagen");
+        DEFAULT_ARGS.put("server.port", "0");
+        DEFAULT_ARGS.put("spring.jpa.show-sql", "false");
+        DEFAULT_ARGS.put("logging.level.root", "WARN");
+        DEFAULT_ARGS.put("logging.level.org.springframework.orm.jpa", "WARN");
+        DEFAULT_ARGS.put("logging.level.org.springframework.transaction", "WARN");
+        DEFAULT_ARGS.put("logging.level.org.springframework.transaction.interceptor", "WARN");
+        DEFAULT_ARGS.put("logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN");
+        DEFAULT_ARGS.put("logging.level.ru.practicum.shareit.exceptions", "OFF");
+        DEFAULT_ARGS.put("logging.level.ru.practicum.shareit", "INFO");
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class).run(withDefaults(args))) {
+            run(context);
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context) throws InterruptedException, IOException {
+        Environment env = context.getEnvironment();
+        double rate = env.getProperty("loadtest.rate", Double.class, 200.0);
+        int users = env.getProperty("loadtest.users", Integer.class, 100);
+        Duration warmup = env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10));
+        Duration duration = env.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(60));
+        int maxInFlight = env.getProperty("loadtest.max-in-flight", Integer.class, 512);
+        Random random = new Random(env.getProperty("loadtest.seed", Long.class, 1L));
+        Scenario[] scenarios = Scenario.values();
+        int[] cumulativeWeights = new int[scenarios.length];
+        int totalWeight = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            totalWeight += env.getProperty("loadtest.mix." + scenarios[i].key(), Integer.class, scenarios[i].defaultWeight());
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Dataset dataset = new Dataset(context.getBean(JdbcTemplate.class), users);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        long started = System.nanoTime();
+        long measureFrom = started + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        LoadStats stats = new LoadStats(measureFrom);
+        LoadDriver driver = new LoadDriver(httpClient, URI.create("http://localhost:" + port),
+                stats, context.getBean(ObjectMapper.class), dataset);
+        log.info("Нагрузка: {} запросов/с, {} пользователей, прогрев {}, замер {}", rate, dataset.userCount(), warmup, duration);
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long sent = 0;
+        long next = started;
+        while (true) {
+            next += (long) (-Math.log(1 - random.nextDouble()) * TimeUnit.SECONDS.toNanos(1) / rate);
+            if (next >= end) {
+                break;
+            }
+            for (long now = System.nanoTime(); now < next; now = System.nanoTime()) {
+                LockSupport.parkNanos(next - now);
+            }
+            if (!inFlight.tryAcquire()) {
+                stats.drop(next);
+                continue;
+            }
+            Scenario scenario = scenarios[pick(cumulativeWeights, random.nextInt(totalWeight))];
+            scenario.start(driver, random, next).whenComplete((result, error) -> inFlight.release());
+            sent++;
+        }
+        inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS);
+        executor.shutdownNow();
+
+        String report = stats.report(duration);
+        log.info("Отправлено сценариев: {}\n{}", sent, report);
+        String reportFile = env.getProperty("loadtest.report");
+        if (reportFile != null) {
+            Files.writeString(Path.of(reportFile), report);
+        }
+    }
+
+    private static int pick(int[] cumulativeWeights, int point) {
+        int i = 0;
+        while (cumulativeWeights[i] <= point) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String[] withDefaults(String[] args) {
+        List<String> merged = new ArrayList<>(Arrays.asList(args));
+        DEFAULT_ARGS.forEach((key, value) -> {
+            if (merged.stream().noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+                merged.add("--" + key + "=" + value);
+            }
+        });
+        return merged.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Сценарии нагрузки. Вес по умолчанию переопределяется свойством {@code loadtest.mix.<name>}.
+ */
+enum Scenario {
+    SEARCH("search", 30) {
+        @Override
+        CompletableFuture<?> start(LoadDriver driver, Random random, long intendedStart) {
+            String text = URLEncoder.encode(SEARCH_WORDS.get(random.nextInt(SEARCH_WORDS.size())), StandardCharsets.UTF_8);
+            return driver.get("GET /items/search", "/items/search?text=" + text + "&from=0&size=20",
+                    driver.dataset().user(random), intendedStart);
+        }
+    },
+    ITEM_VIEW("item-view", 25) {
+        @Override
+        CompletableFuture<?> start(LoadDriver driver, Random random, long intendedStart) {
+            Dataset dataset = driver.dataset();
+            int item = dataset.item(random);
+            long userId = random.nextInt(4) == 0 ? dataset.itemOwner(item) : dataset.user(random);
+            return driver.get("GET /items/{id}", "/items/" + dataset.itemId(item), userId, intendedStart);
+        }
+    },
+    BOOKING("booking", 10) {
+        @Override
+        CompletableFuture<?> start(LoadDriver driver, Random random, long intendedStart) {
+            return driver.bookAndApprove(random, intendedStart);
+        }
+    },
+    OWNER_DASHBOARD("owner-dashboard", 15) {
+        @Override
+        CompletableFuture<?> start(LoadDriver driver, Random random, long intendedStart) {
+            long owner = driver.dataset().owner(random);
+            return CompletableFuture.allOf(
+                    driver.get("GET /items", "/items?from=0&size=20", owner, intendedStart),
+                    driver.get("GET /bookings/owner", "/bookings/owner?state=ALL&from=0&size=20", owner, intendedStart));
+        }
+    },
+    REQUEST_FEED("request-feed", 20) {
+        @Override
+        CompletableFuture<?> start(LoadDriver driver, Random random, long intendedStart) {
+            long userId = driver.dataset().user(random);
+            return random.nextBoolean()
+                    ? driver.get("GET /requests/all", "/requests/all?from=0&size=20", userId, intendedStart)
+                    : driver.get("GET /requests", "/requests?from=0&size=20", userId, intendedStart);
+        }
+    };
+
+    private static final List<String> SEARCH_WORDS = List.of("дрель", "drill", "палатка", "tent", "пила",
+            "ladder", "аккумуляторная", "cordless", "велосипед", "projector");
+
+    private final String key;
+    private final int defaultWeight;
+
+    Scenario(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    abstract CompletableFuture<?> start(LoadDriver driver, Random random, long intendedStart);
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.sql.SlowQueryDto;
+import ru.practicum.shareit.sql.SlowQueryLog;
+import ru.practicum.shareit.sql.SqlStatsFilter;
+import ru.practicum.shareit.sql.SqlTotalsDto;
+
+import java.util.List;
+
+/**
+ * Служебные эндпоинты для наблюдения за работой приложения.
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private final ItemDetailsCache itemDetailsCache;
+    private final SqlStatsFilter sqlStatsFilter;
+    private final SlowQueryLog slowQueryLog;
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok().body(List.of(
+                CacheStatsDto.of("item-details", itemDetailsCache.detailsSize(), itemDetailsCache.detailsStats()),
+                CacheStatsDto.of("item-bookings", itemDetailsCache.bookingsSize(), itemDetailsCache.bookingsStats())));
+    }
+
+    @GetMapping("/sql")
+    public ResponseEntity<SqlTotalsDto> getSqlStats() {
+        return ResponseEntity.ok().body(sqlStatsFilter.totals().snapshot());
+    }
+
+    @GetMapping("/sql/slow")
+    public ResponseEntity<List<SlowQueryDto>> getSlowQueries() {
+        return ResponseEntity.ok().body(slowQueryLog.slowest());
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.admin;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+
+    public static CacheStatsDto of(String name, long size, CacheStats stats) {
+        return new CacheStatsDto(name, size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
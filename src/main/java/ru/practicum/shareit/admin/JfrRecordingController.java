@@ -0,0 +1,41 @@
+package ru.practicum.shareit.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.jfr.ContinuousRecording;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Выгрузка непрерывной записи JFR, доступна с профилем jfr. Файл открывается в JDK Mission Control или {@code jfr print}.
+ */
+@RestController
+@RequestMapping("/admin")
+@Profile("jfr")
+@RequiredArgsConstructor
+public class JfrRecordingController {
+    private final ContinuousRecording continuousRecording;
+
+    @GetMapping("/jfr")
+    public void dumpRecording(HttpServletResponse response) throws IOException {
+        Path file = continuousRecording.dump();
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("shareit.jfr").build().toString());
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
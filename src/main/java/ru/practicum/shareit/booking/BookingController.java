@@ -1,13 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.OffsetBasedPageRequest;
+import ru.practicum.shareit.exports.NdjsonExporter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -33,20 +38,42 @@ class BookingController {
         return bookingService.getBookingInformation(bookingId, userId);
     }
 
+    /**
+     * При переданном параметре after (пустом для первой страницы) список выдаётся по курсору,
+     * а курсор следующей страницы возвращается в заголовке X-Next-Cursor; from при этом не учитывается.
+     */
     @GetMapping
-    public List<BookingDTO> getAllUserBookings(@RequestParam(value = "state", defaultValue = "ALL") String state,
-                                               @RequestHeader("X-Sharer-User-Id") long userId,
-                                               @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-                                               @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size) {
-        return bookingService.getAllBookingsOfCurrentUser(State.convert(state), userId, PageRequest.of(from / size, size).withSort(Sort.by("start").descending()));
+    public ResponseEntity<List<BookingDTO>> getAllUserBookings(@RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                               @RequestHeader("X-Sharer-User-Id") long userId,
+                                                               @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+                                                               @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size,
+                                                               @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            return bookingService.getBookingsOfCurrentUserAfter(State.convert(state), userId, KeysetCursor.decode(after), size).toResponse();
+        }
+        return ResponseEntity.ok(bookingService.getAllBookingsOfCurrentUser(State.convert(state), userId, OffsetBasedPageRequest.of(from, size, Sort.by("start").descending())));
     }
 
     @GetMapping("/owner")
-    public List<BookingDTO> getAllUserItemsBookings(@RequestParam(value = "state", defaultValue = "ALL") String state,
-                                                    @RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-                                                    @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size) {
-        return bookingService.getAllBookingsOfOwner(State.convert(state), userId, PageRequest.of(from / size, size).withSort(Sort.by("start").descending()));
+    public ResponseEntity<List<BookingDTO>> getAllUserItemsBookings(@RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                                    @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                    @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+                                                                    @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size,
+                                                                    @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            return bookingService.getBookingsOfOwnerAfter(State.convert(state), userId, KeysetCursor.decode(after), size).toResponse();
+        }
+        return ResponseEntity.ok(bookingService.getAllBookingsOfOwner(State.convert(state), userId, OffsetBasedPageRequest.of(from, size, Sort.by("start").descending())));
+    }
+
+    /**
+     * Выгружает все бронирования вещей владельца в формате NDJSON, от новых к старым, без постраничного деления.
+     */
+    @GetMapping("/owner/export")
+    public void exportAllUserItemsBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        bookingService.exportBookingsOfOwner(userId, response.getOutputStream());
     }
 
 }
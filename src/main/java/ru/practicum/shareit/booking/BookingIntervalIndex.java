@@ -0,0 +1,218 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.AfterCommit;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Индекс активных (APPROVED/WAITING) бронирований по вещам для быстрой проверки пересечения периодов.
+ * Интервалы вещи загружаются из базы при первом обращении и далее поддерживаются при создании
+ * и отклонении бронирований. Окончательную проверку выполняет ограничение bookings_no_overlap в базе.
+ * <p>
+ * Загрузка идёт вне блокировок кэша. Каждое изменение сначала увеличивает счётчик поколений своей вещи,
+ * и загруженный снимок попадает в кэш, только если за время загрузки счётчик не изменился, — иначе
+ * снимок мог пропустить бронирование, зафиксированное параллельно, и вещь будет загружена заново.
+ */
+@Component
+public class BookingIntervalIndex {
+
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.APPROVED, Status.WAITING);
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final BookingRepository bookingRepository;
+
+    private final Cache<Long, ItemIntervals> intervalsByItem;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.cache.booking-intervals.maximum-size:10000}") long maximumSize) {
+        this.bookingRepository = bookingRepository;
+        intervalsByItem = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItem.getIfPresent(itemId);
+        if (intervals == null) {
+            intervals = load(itemId);
+        }
+        return intervals.overlaps(toMillis(start), toMillis(end));
+    }
+
+    /**
+     * Число активных бронирований вещи, с которыми сверяется новый период, или 0, если вещь ещё не загружена.
+     */
+    public int activeBookings(long itemId) {
+        ItemIntervals intervals = intervalsByItem.getIfPresent(itemId);
+        return intervals == null ? 0 : intervals.size();
+    }
+
+    public void add(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        long start = toMillis(booking.getStart());
+        long end = toMillis(booking.getEnd());
+        AfterCommit.run(() -> {
+            nextGeneration(itemId);
+            intervalsByItem.asMap().computeIfPresent(itemId, (id, intervals) ->
+                    intervals.with(bookingId, start, end, System.currentTimeMillis()));
+        });
+    }
+
+    public void remove(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        AfterCommit.run(() -> {
+            nextGeneration(itemId);
+            intervalsByItem.asMap().computeIfPresent(itemId, (id, intervals) -> intervals.without(bookingId));
+        });
+    }
+
+    public void evict(long itemId) {
+        nextGeneration(itemId);
+        intervalsByItem.invalidate(itemId);
+    }
+
+    private ItemIntervals load(long itemId) {
+        long generation = generations.get(stripe(itemId));
+        List<Booking> bookings = bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(itemId, ACTIVE_STATUSES, LocalDateTime.now());
+        long[] ids = new long[bookings.size()];
+        long[] starts = new long[bookings.size()];
+        long[] ends = new long[bookings.size()];
+        int position = 0;
+        for (Booking booking : bookings) {
+            position = ItemIntervals.put(ids, starts, ends, position, booking.getId(), toMillis(booking.getStart()), toMillis(booking.getEnd()));
+        }
+        ItemIntervals loaded = ItemIntervals.of(ids, starts, ends);
+        ItemIntervals cached = intervalsByItem.asMap().compute(itemId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return generations.get(stripe(id)) == generation ? loaded : null;
+        });
+        return cached == null ? loaded : cached;
+    }
+
+    private void nextGeneration(long itemId) {
+        generations.incrementAndGet(stripe(itemId));
+    }
+
+    private static int stripe(long itemId) {
+        return Long.hashCode(itemId) & (GENERATION_STRIPES - 1);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        if (seconds >= Long.MAX_VALUE / 1000) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / 1000) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    /**
+     * Неизменяемый набор интервалов [start, end), отсортированный по началу.
+     * Массивы, переданные в {@link #of}, должны быть уже упорядочены по start.
+     * maxEnds[i] хранит максимальный конец среди первых i + 1 интервалов, что позволяет
+     * ответить на запрос о пересечении одним бинарным поиском.
+     */
+    static final class ItemIntervals {
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private ItemIntervals(long[] ids, long[] starts, long[] ends, long[] maxEnds) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        boolean overlaps(long start, long end) {
+            int candidates = countStartsBefore(end);
+            return candidates > 0 && maxEnds[candidates - 1] > start;
+        }
+
+        ItemIntervals with(long id, long start, long end, long now) {
+            int size = 0;
+            long[] newIds = new long[ids.length + 1];
+            long[] newStarts = new long[ids.length + 1];
+            long[] newEnds = new long[ids.length + 1];
+            boolean inserted = false;
+            for (int i = 0; i < ids.length; i++) {
+                if (!inserted && starts[i] > start) {
+                    size = put(newIds, newStarts, newEnds, size, id, start, end);
+                    inserted = true;
+                }
+                if (ids[i] != id && ends[i] > now) {
+                    size = put(newIds, newStarts, newEnds, size, ids[i], starts[i], ends[i]);
+                }
+            }
+            if (!inserted) {
+                size = put(newIds, newStarts, newEnds, size, id, start, end);
+            }
+            return of(Arrays.copyOf(newIds, size), Arrays.copyOf(newStarts, size), Arrays.copyOf(newEnds, size));
+        }
+
+        ItemIntervals without(long id) {
+            int size = 0;
+            long[] newIds = new long[ids.length];
+            long[] newStarts = new long[ids.length];
+            long[] newEnds = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != id) {
+                    size = put(newIds, newStarts, newEnds, size, ids[i], starts[i], ends[i]);
+                }
+            }
+            return size == ids.length ? this
+                    : of(Arrays.copyOf(newIds, size), Arrays.copyOf(newStarts, size), Arrays.copyOf(newEnds, size));
+        }
+
+        private int countStartsBefore(long value) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        static int put(long[] ids, long[] starts, long[] ends, int position, long id, long start, long end) {
+            ids[position] = id;
+            starts[position] = start;
+            ends[position] = end;
+            return position + 1;
+        }
+
+        static ItemIntervals of(long[] ids, long[] starts, long[] ends) {
+            long[] maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+            return new ItemIntervals(ids, starts, ends, maxEnds);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.common.KeysetCursor;
+
+import java.util.List;
+
+public interface BookingKeysetRepository {
+    /**
+     * Возвращает до size бронирований, подходящих под filter, в порядке (start, id) по убыванию,
+     * начиная сразу после позиции after (или с начала, если after равен null).
+     */
+    List<Booking> findPage(Specification<Booking> filter, KeysetCursor after, int size);
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.item.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findPage(Specification<Booking> filter, KeysetCursor after, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        Fetch<Booking, Item> item = root.fetch("item");
+        item.fetch("owner");
+        root.fetch("booker");
+
+        Path<LocalDateTime> start = root.get("start");
+        Path<Long> id = root.get("id");
+        Predicate predicate = filter == null ? builder.conjunction() : filter.toPredicate(root, query, builder);
+        if (after != null) {
+            LocalDateTime key = after.requireKey();
+            predicate = builder.and(predicate, builder.or(
+                    builder.lessThan(start, key),
+                    builder.and(builder.equal(start, key), builder.lessThan(id, after.getId()))));
+        }
+        query.select(root).where(predicate).orderBy(builder.desc(start), builder.desc(id));
+        return entityManager.createQuery(query).setMaxResults(size).getResultList();
+    }
+}
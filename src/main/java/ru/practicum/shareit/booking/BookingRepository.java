@@ -1,19 +1,79 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends CrudRepository<Booking, Long> {
-    List<Booking> findByBookerIdAndStatusIn(long bookerId, List<Status> status, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-    List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingKeysetRepository {
+    /**
+     * Условия ниже сравнивают внешние ключи бронирования, а не столбцы присоединённых таблиц:
+     * так фильтр попадает под индексы bookings и items, а не под первичные ключи users.
+     */
+    String SELECT_WITH_PARTIES = "select b from Booking b join fetch b.item i left join fetch i.owner left join fetch b.booker ";
 
-    List<Booking> findAllByItemIdInAndStatusIn(List<Long> itemId, List<Status> status, Pageable pageable);
+    @Query(SELECT_WITH_PARTIES + "where b.booker.id = :bookerId and b.status in :status")
+    Slice<Booking> findByBookerIdAndStatusIn(long bookerId, List<Status> status, Pageable pageable);
 
-    List<Booking> findAllByItemIdIn(Collection<Long> itemId, Pageable pageable);
+    @Query(SELECT_WITH_PARTIES + "where b.booker.id = :bookerId and b.start < :start and b.end > :end")
+    Slice<Booking> findByBookerIdAndStartBeforeAndEndAfter(long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
+    @Query(SELECT_WITH_PARTIES + "where b.booker.id = :bookerId and b.status in :status and b.start > :start")
+    Slice<Booking> findByBookerIdAndStatusInAndStartAfter(long bookerId, List<Status> status, LocalDateTime start, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.booker.id = :bookerId and b.status in :status and b.end < :end")
+    Slice<Booking> findByBookerIdAndStatusInAndEndBefore(long bookerId, List<Status> status, LocalDateTime end, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.booker.id = :bookerId")
+    Slice<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in :itemId and b.status in :status")
+    Slice<Booking> findAllByItemIdInAndStatusIn(List<Long> itemId, List<Status> status, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in (select o.id from Item o where o.owner.id = :ownerId)")
+    Slice<Booking> findAllByItemOwnerId(long ownerId, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in (select o.id from Item o where o.owner.id = :ownerId) and b.status in :status")
+    Slice<Booking> findAllByItemOwnerIdAndStatusIn(long ownerId, List<Status> status, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in (select o.id from Item o where o.owner.id = :ownerId) and b.status in :status and b.start < :start and b.end > :end")
+    Slice<Booking> findAllByItemOwnerIdAndStatusInAndStartBeforeAndEndAfter(long ownerId, List<Status> status, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in (select o.id from Item o where o.owner.id = :ownerId) and b.status in :status and b.start > :start")
+    Slice<Booking> findAllByItemOwnerIdAndStatusInAndStartAfter(long ownerId, List<Status> status, LocalDateTime start, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in (select o.id from Item o where o.owner.id = :ownerId) and b.status in :status and b.end < :end")
+    Slice<Booking> findAllByItemOwnerIdAndStatusInAndEndBefore(long ownerId, List<Status> status, LocalDateTime end, Pageable pageable);
+
+    @Query(SELECT_WITH_PARTIES + "where b.item.id in (select o.id from Item o where o.owner.id = :ownerId) order by b.start desc, b.id desc")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Booking> streamAllByItemOwnerId(long ownerId);
+
+    @Query("select b from Booking b where b.item.id in :itemIds and b.status in :status")
+    List<Booking> findAllByItemIdInAndStatusIn(Collection<Long> itemIds, List<Status> status);
+
+    @Query("select b from Booking b where b.item.id = :itemId and b.status in :status")
     List<Booking> findAllByItemIdAndStatusIn(long itemId, List<Status> status);
+
+    @Query("select b from Booking b where b.item.id = :itemId and b.status = :status and b.end < :end order by b.end desc")
+    List<Booking> findByItemIdAndStatusAndEndBeforeOrderByEndDesc(long itemId, Status status, LocalDateTime end, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.id = :itemId and b.status = :status and b.start < :start and b.end > :end order by b.start desc")
+    List<Booking> findByItemIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(long itemId, Status status, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.id = :itemId and b.status in :status and b.start > :start order by b.start")
+    List<Booking> findByItemIdAndStatusInAndStartAfterOrderByStartAsc(long itemId, List<Status> status, LocalDateTime start, Pageable pageable);
+
+    @Query("select b from Booking b where b.item.id = :itemId and b.status in :status and b.end > :end order by b.start")
+    List<Booking> findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(long itemId, List<Status> status, LocalDateTime end);
 }
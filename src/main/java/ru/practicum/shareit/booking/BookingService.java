@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookingService {
@@ -11,11 +14,13 @@ public interface BookingService {
 
     BookingDTO getBookingInformation(long bookingId, long userId);
 
-    List<BookingDTO> getAllBookingsOfCurrentUser(State state, long bookerId, PageRequest pageRequest);
+    List<BookingDTO> getAllBookingsOfCurrentUser(State state, long bookerId, Pageable pageable);
 
-    List<BookingDTO> getAllBookingsOfOwner(State state, long ownerId, PageRequest pageRequest);
+    List<BookingDTO> getAllBookingsOfOwner(State state, long ownerId, Pageable pageable);
 
-    List<BookingDTO> getAllFutureBookingsOfItem(long itemId);
+    KeysetPage<BookingDTO> getBookingsOfCurrentUserAfter(State state, long bookerId, KeysetCursor after, int size);
 
-    List<BookingDTO> getAllBookingsOfItemsIds(List<Long> ids);
+    KeysetPage<BookingDTO> getBookingsOfOwnerAfter(State state, long ownerId, KeysetCursor after, int size);
+
+    long exportBookingsOfOwner(long ownerId, OutputStream out);
 }
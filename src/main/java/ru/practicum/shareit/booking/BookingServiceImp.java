@@ -1,21 +1,32 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectAvailableException;
 import ru.practicum.shareit.exceptions.IncorrectOwnerException;
 import ru.practicum.shareit.exceptions.IncorrectTimeException;
+import ru.practicum.shareit.exports.NdjsonExporter;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.jfr.BookingCreateEvent;
+import ru.practicum.shareit.jfr.BookingDecisionEvent;
+import ru.practicum.shareit.sql.SqlRequestStats;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,14 +36,51 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookingServiceImp implements BookingService {
 
+    /**
+     * Ограничение исключения, которое в PostgreSQL запрещает пересечение активных бронирований одной вещи.
+     */
+    static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    /**
+     * SQLState нарушения ограничения исключения (exclusion_violation).
+     */
+    static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final String BOOKING_CONFLICT_MESSAGE = "Введённый период бронирования конфликтует с периодами существующих бронирований";
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingPointersService itemBookingPointersService;
+    private final ItemDetailsCache itemDetailsCache;
+    private final NdjsonExporter ndjsonExporter;
 
     @Transactional
     @Override
     public BookingDTO addBooking(long bookerId, BookingInputDTO bookingInputDto) {
+        BookingCreateEvent event = new BookingCreateEvent();
+        event.begin();
+        long jdbcNanos = SqlRequestStats.currentJdbcNanos();
+        BookingDTO created = null;
+        try {
+            created = createBooking(bookerId, bookingInputDto, event);
+            return created;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setItemId(bookingInputDto.getItemId());
+                event.setBookerId(bookerId);
+                if (created != null) {
+                    event.setBookingId(created.getId());
+                }
+                event.setSucceeded(created != null);
+                event.setDbTime(SqlRequestStats.currentJdbcNanos() - jdbcNanos);
+                event.commit();
+            }
+        }
+    }
+
+    private BookingDTO createBooking(long bookerId, BookingInputDTO bookingInputDto, BookingCreateEvent event) {
         validateDate(bookingInputDto);
         Booking booking = bookingMapper.fromDto(bookingInputDto);
         booking.setStatus(Status.WAITING);
@@ -42,23 +90,50 @@ public class BookingServiceImp implements BookingService {
         if (booking.getItem().getOwner().getId() == bookerId) {
             throw new IncorrectOwnerException(String.format("Пользователь с id = %d является владельцем вещи с id = %d", bookerId, bookingInputDto.getItemId()));
         }
-        if (!isIntervalsIntersect(booking)) {
-            throw new IncorrectTimeException("Введённый период бронирования конфликтует с периодами существующих бронирований");
+        boolean overlaps = bookingIntervalIndex.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        if (event.shouldCommit()) {
+            event.setCandidateBookings(bookingIntervalIndex.activeBookings(booking.getItem().getId()));
+        }
+        if (overlaps) {
+            throw new IncorrectTimeException(BOOKING_CONFLICT_MESSAGE);
         }
         if (!booking.getItem().getAvailable()) {
             throw new IncorrectAvailableException(String.format("Вещь с id = %d не доступна", bookingInputDto.getItemId()));
         }
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            bookingIntervalIndex.evict(booking.getItem().getId());
+            throw new IncorrectTimeException(BOOKING_CONFLICT_MESSAGE);
+        }
+        bookingIntervalIndex.add(savedBooking);
+        itemBookingPointersService.refresh(savedBooking.getItem().getId());
+        itemDetailsCache.evictBookings(savedBooking.getItem().getId());
         return bookingMapper.fromEntity(savedBooking);
     }
 
-    private boolean isIntervalsIntersect(Booking newBooking) {
-        long itemId = newBooking.getItem().getId();
-        List<BookingDTO> listOfUpcomingBookings = getAllFutureBookingsOfItem(itemId);
-        return listOfUpcomingBookings.isEmpty() || listOfUpcomingBookings
-                .stream()
-                .anyMatch(e -> e.getStart().isAfter(newBooking.getEnd())
-                        || e.getEnd().isBefore(newBooking.getStart()));
+    /**
+     * Отличает пересечение периодов от прочих нарушений целостности (внешних ключей, NOT NULL и т. п.),
+     * которые не должны превращаться в ответ о конфликте времени.
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+            if (cause instanceof ConstraintViolationException
+                    && OVERLAP_CONSTRAINT.equalsIgnoreCase(((ConstraintViolationException) cause).getConstraintName())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void validateDate(BookingInputDTO bookingInputDto) {
@@ -75,9 +150,31 @@ public class BookingServiceImp implements BookingService {
     @Transactional
     @Override
     public BookingDTO approveOrRejectBooking(long ownerId, long bookingId, boolean approved) {
+        BookingDecisionEvent event = new BookingDecisionEvent();
+        event.begin();
+        long jdbcNanos = SqlRequestStats.currentJdbcNanos();
+        BookingDTO decided = null;
+        try {
+            decided = decideBooking(ownerId, bookingId, approved, event);
+            return decided;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setBookingId(bookingId);
+                event.setApproved(approved);
+                event.setSucceeded(decided != null);
+                event.setDbTime(SqlRequestStats.currentJdbcNanos() - jdbcNanos);
+                event.commit();
+            }
+        }
+    }
+
+    private BookingDTO decideBooking(long ownerId, long bookingId, boolean approved, BookingDecisionEvent event) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
                 new EntityNotFoundException(String.format("Бронирования с id = %d не найдено", bookingId)));
         Item item = booking.getItem();
+        if (event.shouldCommit()) {
+            event.setItemId(item.getId());
+        }
         long userId = item.getOwner().getId();
         if (booking.getStatus().equals(Status.APPROVED)) {
                 throw new IncorrectAvailableException("Нельзя отменить подтверждённое бронирование");
@@ -91,6 +188,11 @@ public class BookingServiceImp implements BookingService {
             throw new EntityNotFoundException(String.format("Вещь с id = %d не пренадлежит пользователю с id = %d", userId, bookingId));
         }
         Booking saved = bookingRepository.save(booking);
+        if (saved.getStatus() == Status.REJECTED) {
+            bookingIntervalIndex.remove(saved);
+        }
+        itemBookingPointersService.refresh(item.getId());
+        itemDetailsCache.evictBookings(item.getId());
         return bookingMapper.fromEntity(saved);
     }
 
@@ -113,92 +215,84 @@ public class BookingServiceImp implements BookingService {
     }
 
     @Override
-    public List<BookingDTO> getAllBookingsOfCurrentUser(State state, long userId, PageRequest pageRequest) {
+    public List<BookingDTO> getAllBookingsOfCurrentUser(State state, long userId, Pageable pageable) {
         getUserById(userId);
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> bookings;
         switch (state) {
             case CURRENT:
-                return bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.APPROVED, Status.REJECTED, Status.WAITING, Status.CANCELED), pageRequest)
-                        .stream().filter(e -> e.getStart().isBefore(LocalDateTime.now()) && e.getEnd().isAfter(LocalDateTime.now()))
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(userId, now, now, pageable);
+                break;
             case FUTURE:
-                return bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.APPROVED, Status.WAITING), pageRequest)
-                        .stream().filter(e -> e.getStart().isAfter(LocalDateTime.now()))
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findByBookerIdAndStatusInAndStartAfter(userId, List.of(Status.APPROVED, Status.WAITING), now, pageable);
+                break;
             case PAST:
-                return bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED), pageRequest)
-                        .stream().filter(e -> e.getEnd().isBefore(LocalDateTime.now()))
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findByBookerIdAndStatusInAndEndBefore(userId, List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED), now, pageable);
+                break;
             case REJECTED:
-                return bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.REJECTED, Status.CANCELED), pageRequest)
-                        .stream()
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.REJECTED, Status.CANCELED), pageable);
+                break;
             case WAITING:
-                return bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.WAITING), pageRequest)
-                        .stream()
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findByBookerIdAndStatusIn(userId, List.of(Status.WAITING), pageable);
+                break;
             default:
-                return bookingRepository.findAllByBookerId(userId, pageRequest)
-                        .stream()
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByBookerId(userId, pageable);
         }
-    }
-
-    public List<BookingDTO> getAllFutureBookingsOfItem(long itemId) {
-        return bookingRepository.findAllByItemIdAndStatusIn(itemId, List.of(Status.APPROVED, Status.WAITING))
-                .stream().filter(e -> e.getStart().isAfter(LocalDateTime.now()))
+        return bookings.stream()
                 .map(bookingMapper::fromEntity)
-                .sorted(Comparator.comparing(BookingDTO::getStart))
-                .collect(Collectors.toList());
-    }
-
-    public List<BookingDTO> getAllBookingsOfItemsIds(List<Long> ids) {
-        return bookingRepository.findAllByItemIdInAndStatusIn(ids, List.of(Status.APPROVED, Status.WAITING), Pageable.unpaged())
-                .stream().map(bookingMapper::fromEntity)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingDTO> getAllBookingsOfOwner(State state, long ownerId, PageRequest pageRequest) {
+    public List<BookingDTO> getAllBookingsOfOwner(State state, long ownerId, Pageable pageable) {
         getUserById(ownerId);
-        List<Item> allByOwnerId = itemRepository.findAllByOwnerId(ownerId);
-        List<Long> itemIdsForOwner = allByOwnerId.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> bookings;
         switch (state) {
             case CURRENT:
-                return bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.APPROVED, Status.REJECTED), pageRequest)
-                        .stream().filter(e -> e.getStart().isBefore(LocalDateTime.now()) && e.getEnd().isAfter(LocalDateTime.now()))
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusInAndStartBeforeAndEndAfter(ownerId, List.of(Status.APPROVED, Status.REJECTED), now, now, pageable);
+                break;
             case FUTURE:
-                return bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.APPROVED, Status.WAITING), pageRequest)
-                        .stream().filter(e -> e.getStart().isAfter(LocalDateTime.now()))
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusInAndStartAfter(ownerId, List.of(Status.APPROVED, Status.WAITING), now, pageable);
+                break;
             case PAST:
-                return bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED), pageRequest)
-                        .stream().filter(e -> e.getEnd().isBefore(LocalDateTime.now()))
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusInAndEndBefore(ownerId, List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED), now, pageable);
+                break;
             case REJECTED:
-                return bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.REJECTED, Status.CANCELED), pageRequest)
-                        .stream()
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusIn(ownerId, List.of(Status.REJECTED, Status.CANCELED), pageable);
+                break;
             case WAITING:
-                return bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.WAITING), pageRequest)
-                        .stream()
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByItemOwnerIdAndStatusIn(ownerId, List.of(Status.WAITING), pageable);
+                break;
             default:
-                return bookingRepository.findAllByItemIdIn(itemIdsForOwner, pageRequest)
-                        .stream()
-                        .map(bookingMapper::fromEntity)
-                        .collect(Collectors.toList());
+                bookings = bookingRepository.findAllByItemOwnerId(ownerId, pageable);
         }
+        return bookings.stream()
+                .map(bookingMapper::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public KeysetPage<BookingDTO> getBookingsOfCurrentUserAfter(State state, long bookerId, KeysetCursor after, int size) {
+        getUserById(bookerId);
+        List<Booking> bookings = bookingRepository.findPage(BookingSpecifications.ofBooker(bookerId, state, LocalDateTime.now()), after, size + 1);
+        return KeysetPage.of(bookings, size, BookingServiceImp::cursorOf, bookingMapper::fromEntity);
+    }
+
+    @Override
+    public KeysetPage<BookingDTO> getBookingsOfOwnerAfter(State state, long ownerId, KeysetCursor after, int size) {
+        getUserById(ownerId);
+        List<Booking> bookings = bookingRepository.findPage(BookingSpecifications.ofOwner(ownerId, state, LocalDateTime.now()), after, size + 1);
+        return KeysetPage.of(bookings, size, BookingServiceImp::cursorOf, bookingMapper::fromEntity);
+    }
+
+    @Override
+    public long exportBookingsOfOwner(long ownerId, OutputStream out) {
+        getUserById(ownerId);
+        return ndjsonExporter.write(bookingRepository.streamAllByItemOwnerId(ownerId), bookingMapper::fromEntity, out);
+    }
+
+    private static KeysetCursor cursorOf(Booking booking) {
+        return new KeysetCursor(booking.getStart(), booking.getId());
     }
 }
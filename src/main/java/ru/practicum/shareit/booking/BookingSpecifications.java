@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Условия выборки бронирований для постраничного вывода по курсору.
+ * Повторяют условия производных запросов {@link BookingRepository} для каждого {@link State}.
+ */
+final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    static Specification<Booking> ofBooker(long bookerId, State state, LocalDateTime now) {
+        return Specification.<Booking>where((root, query, builder) -> builder.equal(root.get("booker").get("id"), bookerId))
+                .and(state == State.CURRENT ? startBefore(now).and(endAfter(now)) : ofState(state, now));
+    }
+
+    static Specification<Booking> ofOwner(long ownerId, State state, LocalDateTime now) {
+        return Specification.<Booking>where((root, query, builder) -> builder.equal(root.get("item").get("owner").get("id"), ownerId))
+                .and(state == State.CURRENT
+                        ? statusIn(List.of(Status.APPROVED, Status.REJECTED)).and(startBefore(now)).and(endAfter(now))
+                        : ofState(state, now));
+    }
+
+    private static Specification<Booking> ofState(State state, LocalDateTime now) {
+        switch (state) {
+            case FUTURE:
+                return statusIn(List.of(Status.APPROVED, Status.WAITING)).and(startAfter(now));
+            case PAST:
+                return statusIn(List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED)).and(endBefore(now));
+            case REJECTED:
+                return statusIn(List.of(Status.REJECTED, Status.CANCELED));
+            case WAITING:
+                return statusIn(List.of(Status.WAITING));
+            default:
+                return null;
+        }
+    }
+
+    private static Specification<Booking> statusIn(List<Status> statuses) {
+        return (root, query, builder) -> root.get("status").in(statuses);
+    }
+
+    private static Specification<Booking> startBefore(LocalDateTime time) {
+        return (root, query, builder) -> builder.lessThan(root.get("start"), time);
+    }
+
+    private static Specification<Booking> startAfter(LocalDateTime time) {
+        return (root, query, builder) -> builder.greaterThan(root.get("start"), time);
+    }
+
+    private static Specification<Booking> endBefore(LocalDateTime time) {
+        return (root, query, builder) -> builder.lessThan(root.get("end"), time);
+    }
+
+    private static Specification<Booking> endAfter(LocalDateTime time) {
+        return (root, query, builder) -> builder.greaterThan(root.get("end"), time);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_booking_pointers")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBookingPointers {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    private Booking lastBooking;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    private Booking nextBooking;
+
+    /**
+     * Конец идущего сейчас подтверждённого бронирования: после него последним становится уже оно,
+     * даже если ссылка указывает на более раннее завершённое.
+     */
+    @Column(name = "current_booking_end")
+    private LocalDateTime currentBookingEnd;
+
+    /**
+     * Ссылки перестают быть верными, когда начинается следующее бронирование или заканчивается текущее.
+     */
+    public boolean isStale(LocalDateTime now) {
+        return nextBooking != null && !nextBooking.getStart().isAfter(now)
+                || currentBookingEnd != null && !currentBookingEnd.isAfter(now);
+    }
+}
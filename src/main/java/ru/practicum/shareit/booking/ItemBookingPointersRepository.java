@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingPointersRepository extends JpaRepository<ItemBookingPointers, Long> {
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    List<ItemBookingPointers> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Query("select p.itemId from ItemBookingPointers p left join p.nextBooking n " +
+            "where n.start <= :now or p.currentBookingEnd <= :now")
+    List<Long> findItemIdsWithStalePointers(LocalDateTime now);
+
+    @Query("select distinct b.item.id from Booking b where not exists " +
+            "(select p.itemId from ItemBookingPointers p where p.itemId = b.item.id)")
+    List<Long> findItemIdsWithoutPointers();
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Поддерживает ссылки на последнее и следующее бронирование вещи в таблице item_booking_pointers.
+ * Ссылки пересчитываются при создании, подтверждении и отклонении бронирования, а также периодически
+ * для вещей, у которых следующее бронирование уже началось или текущее закончилось.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBookingPointersService {
+
+    private static final Pageable FIRST = PageRequest.of(0, 1);
+
+    private final ItemBookingPointersRepository itemBookingPointersRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    /**
+     * Строка вещи блокируется до конца транзакции: иначе два первых бронирования одной вещи
+     * одновременно вставили бы строку ссылок с одним ключом.
+     */
+    @Transactional
+    public void refresh(long itemId) {
+        itemRepository.lockById(itemId);
+        LocalDateTime now = LocalDateTime.now();
+        Booking current = first(bookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(itemId, Status.APPROVED, now, now, FIRST))
+                .orElse(null);
+        Booking last = first(bookingRepository.findByItemIdAndStatusAndEndBeforeOrderByEndDesc(itemId, Status.APPROVED, now, FIRST))
+                .orElse(current);
+        Booking next = first(bookingRepository.findByItemIdAndStatusInAndStartAfterOrderByStartAsc(itemId, List.of(Status.APPROVED, Status.WAITING), now, FIRST))
+                .orElse(null);
+        ItemBookingPointers pointers = itemBookingPointersRepository.findById(itemId)
+                .orElseGet(() -> new ItemBookingPointers(itemId, null, null, null));
+        pointers.setLastBooking(last);
+        pointers.setNextBooking(next);
+        pointers.setCurrentBookingEnd(current == null ? null : current.getEnd());
+        itemBookingPointersRepository.save(pointers);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.pointers.roll-forward-delay:60000}")
+    @Transactional
+    public void rollForward() {
+        List<Long> itemIds = itemBookingPointersRepository.findItemIdsWithStalePointers(LocalDateTime.now());
+        itemIds.forEach(this::refresh);
+        if (!itemIds.isEmpty()) {
+            log.debug("Обновлены ссылки на бронирования для {} вещей", itemIds.size());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        List<Long> itemIds = itemBookingPointersRepository.findItemIdsWithoutPointers();
+        itemIds.forEach(this::refresh);
+        if (!itemIds.isEmpty()) {
+            log.info("Заполнены ссылки на бронирования для {} вещей", itemIds.size());
+        }
+    }
+
+    private static Optional<Booking> first(List<Booking> bookings) {
+        return bookings.stream().findFirst();
+    }
+}
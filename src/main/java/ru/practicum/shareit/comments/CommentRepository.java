@@ -1,13 +1,17 @@
 package ru.practicum.shareit.comments;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends CrudRepository<Comment, Long> {
+    @Query("select c from Comment c where c.item.id = :itemId")
     List<Comment> findAllByItemId(Long itemId);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemsIds);
+    @Query("select c from Comment c left join fetch c.author where c.item.id in :itemsIds")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemsIds);
 }
@@ -10,6 +10,7 @@ import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectAvailableException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
@@ -26,6 +27,7 @@ public class CommentServiceImpl implements CommentService {
     private final ItemRepository itemRepository;
     private final CommentMapper commentMapper;
     private final BookingRepository bookingRepository;
+    private final ItemDetailsCache itemDetailsCache;
 
     @Transactional
     @Override
@@ -37,7 +39,7 @@ public class CommentServiceImpl implements CommentService {
         if (item.getOwner().getId().equals(userId)) {
             throw new IncorrectAvailableException("Владелец не может оставить отзыв на собственную вещь");
         }
-        List<Booking> allByBookerId = bookingRepository.findAllByBookerId(userId, Pageable.unpaged());
+        List<Booking> allByBookerId = bookingRepository.findAllByBookerId(userId, Pageable.unpaged()).getContent();
         allByBookerId.stream()
                 .filter(e -> Objects.equals(e.getItem().getId(), itemId) &&
                         e.getStatus().equals(Status.APPROVED) &&
@@ -49,6 +51,8 @@ public class CommentServiceImpl implements CommentService {
         comment.setCreated(LocalDateTime.now());
         comment.setAuthor(user);
         comment.setItem(item);
-        return commentMapper.toCommentDTO(commentRepository.save(comment));
+        CommentDTO saved = commentMapper.toCommentDTO(commentRepository.save(comment));
+        itemDetailsCache.evictDetails(itemId);
+        return saved;
     }
 }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.common;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Ответ, который выставляет заголовки из headers непосредственно перед первой записью тела: после этого
+ * ответ может быть уже зафиксирован и заголовки не дойдут до клиента. Если тело так и не было записано,
+ * фильтр вызывает {@link #writeHeaders()} сам после обработки запроса.
+ */
+public class HeadersBeforeBodyResponse extends HttpServletResponseWrapper {
+    private final Supplier<Map<String, String>> headers;
+    private boolean written;
+
+    public HeadersBeforeBodyResponse(HttpServletResponse response, Supplier<Map<String, String>> headers) {
+        super(response);
+        this.headers = headers;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeHeaders();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeHeaders();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeaders();
+        super.flushBuffer();
+    }
+
+    public void writeHeaders() {
+        if (written || isCommitted()) {
+            return;
+        }
+        written = true;
+        headers.get().forEach(this::setHeader);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.common;
+
+import lombok.Value;
+import ru.practicum.shareit.exceptions.IncorrectCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Позиция в списке, упорядоченном по (key, id): ключ сортировки и id последней выданной записи.
+ * Для клиента это непрозрачная строка, которая возвращается в заголовке {@link #HEADER}.
+ * Для списков, упорядоченных только по id, key равен null.
+ */
+@Value
+public class KeysetCursor {
+    public static final String HEADER = "X-Next-Cursor";
+
+    LocalDateTime key;
+    long id;
+
+    public String encode() {
+        String raw = (key == null ? "" : key.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ключ сортировки для списков, упорядоченных по (key, id). Курсор без ключа к таким спискам не подходит.
+     */
+    public LocalDateTime requireKey() {
+        if (key == null) {
+            throw new IncorrectCursorException(String.format("Курсор %s не содержит ключа сортировки", encode()));
+        }
+        return key;
+    }
+
+    /**
+     * Пустая строка означает первую страницу и возвращает null.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String key = raw.substring(0, separator);
+            return new KeysetCursor(key.isEmpty() ? null : LocalDateTime.parse(key), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IncorrectCursorException(String.format("Некорректный курсор: %s", token));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.common;
+
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница, полученная по курсору. next равен null, если страница последняя.
+ */
+@Value
+public class KeysetPage<T> {
+    List<T> content;
+    KeysetCursor next;
+
+    /**
+     * entities должны быть выбраны с запасом в одну запись (до size + 1): лишняя запись в страницу
+     * не попадает и лишь показывает, что следующая страница не пуста, поэтому курсор выдаётся только тогда.
+     */
+    public static <E, T> KeysetPage<T> of(List<E> entities, int size, Function<E, KeysetCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = entities.size() > size;
+        List<E> page = hasNext ? entities.subList(0, size) : entities;
+        KeysetCursor next = hasNext ? cursorOf.apply(page.get(size - 1)) : null;
+        List<T> content = new ArrayList<>(page.size());
+        page.forEach(entity -> content.add(mapper.apply(entity)));
+        return new KeysetPage<>(content, next);
+    }
+
+    /**
+     * Ответ со страницей в теле и курсором следующей страницы в заголовке {@link KeysetCursor#HEADER}.
+     */
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(KeysetCursor.HEADER, next.encode());
+        }
+        return response.body(content);
+    }
+}
@@ -0,0 +1,247 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Заполняет таблицы из schema.sql синтетическими данными пакетными INSERT через JDBC, минуя JPA.
+ * Популярность вещей и число вещей у владельцев подчиняются степенному закону, бронирования одной вещи
+ * не пересекаются. Идентификаторы продолжают уже существующие, после вставки последовательности
+ * перезапускаются за новыми максимумами, поэтому приложение продолжает выдавать id без конфликтов.
+ * <p>
+ * Для PostgreSQL пакеты стоит дополнить параметром {@code reWriteBatchedInserts=true} в URL подключения.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DataGenerator {
+    private static final long HISTORY_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final long FUTURE_SECONDS = Duration.ofDays(90).toSeconds();
+    private static final long MIN_BOOKING_SECONDS = Duration.ofMinutes(1).toSeconds();
+    private static final long MAX_BOOKING_SECONDS = Duration.ofDays(7).toSeconds();
+    private static final long MAX_COMMENT_DELAY_SECONDS = Duration.ofDays(3).toSeconds();
+    private static final double ANSWERED_REQUEST_SHARE = 0.2;
+    private static final double AVAILABLE_SHARE = 0.9;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void generate(DatagenPlan plan) {
+        long started = System.nanoTime();
+        Random random = new Random(plan.getSeed());
+        TextGenerator text = new TextGenerator(random);
+
+        long userBase = nextId("users");
+        JdbcBatch users = new JdbcBatch(jdbcTemplate, "INSERT INTO users (id, name, email) VALUES (?, ?, ?)", plan.getBatchSize());
+        for (int i = 0; i < plan.getUsers(); i++) {
+            long id = userBase + i;
+            users.add(id, text.userName(), "user" + id + "@shareit.example");
+        }
+        long userCount = users.finish();
+
+        long requestBase = nextId("requests");
+        JdbcBatch requests = new JdbcBatch(jdbcTemplate,
+                "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", plan.getBatchSize());
+        for (int i = 0; plan.getUsers() > 0 && i < plan.getRequests(); i++) {
+            requests.add(requestBase + i, text.requestDescription(), userBase + random.nextInt(plan.getUsers()),
+                    plan.getAnchor().minusSeconds(randomBelow(random, HISTORY_SECONDS)));
+        }
+        long requestCount = requests.finish();
+
+        long itemBase = nextId("items");
+        int[] owners = new int[plan.getUsers() > 0 ? plan.getItems() : 0];
+        JdbcBatch items = new JdbcBatch(jdbcTemplate,
+                "INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+                plan.getBatchSize());
+        if (owners.length > 0) {
+            ZipfSampler ownerSampler = new ZipfSampler(plan.getUsers(), plan.getPopularityExponent(), random);
+            for (int i = 0; i < owners.length; i++) {
+                owners[i] = ownerSampler.next(random);
+                Long requestId = requestCount > 0 && random.nextDouble() < ANSWERED_REQUEST_SHARE
+                        ? requestBase + random.nextInt((int) requestCount) : null;
+                items.add(itemBase + i, text.itemName(), text.itemDescription(), random.nextDouble() < AVAILABLE_SHARE,
+                        userBase + owners[i], requestId);
+            }
+        }
+        long itemCount = items.finish();
+
+        BookingTimelines timelines = new BookingTimelines(plan, random, owners, userBase, itemBase, nextId("bookings"));
+        long bookingCount = timelines.write();
+        long commentCount = writeComments(plan, text, random, timelines);
+        writePointers(timelines, itemBase);
+
+        restartSequence("users_seq", "users");
+        restartSequence("requests_seq", "requests");
+        restartSequence("items_seq", "items");
+        restartSequence("bookings_seq", "bookings");
+        restartSequence("comments_seq", "comments");
+        log.info("Сгенерировано за {} мс: пользователей {}, запросов {}, вещей {}, бронирований {}, комментариев {}",
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                userCount, requestCount, itemCount, bookingCount, commentCount);
+    }
+
+    private long writeComments(DatagenPlan plan, TextGenerator text, Random random, BookingTimelines timelines) {
+        long commentBase = nextId("comments");
+        JdbcBatch comments = new JdbcBatch(jdbcTemplate,
+                "INSERT INTO comments (id, text, item_id, created, author_id) VALUES (?, ?, ?, ?, ?)", plan.getBatchSize());
+        for (int i = 0; i < timelines.commentCount(); i++) {
+            LocalDateTime created = timelines.commentEnds[i].plusSeconds(randomBelow(random, MAX_COMMENT_DELAY_SECONDS));
+            comments.add(commentBase + i, text.commentText(), timelines.commentItems[i],
+                    created.isAfter(plan.getAnchor()) ? plan.getAnchor() : created, timelines.commentAuthors[i]);
+        }
+        return comments.finish();
+    }
+
+    private void writePointers(BookingTimelines timelines, long itemBase) {
+        JdbcBatch pointers = new JdbcBatch(jdbcTemplate,
+                "INSERT INTO item_booking_pointers (item_id, last_booking_id, next_booking_id, current_booking_end) VALUES (?, ?, ?, ?)",
+                timelines.plan.getBatchSize());
+        for (int i = 0; i < timelines.lastBookings.length; i++) {
+            pointers.add(itemBase + i, timelines.lastBookings[i], timelines.nextBookings[i], timelines.currentEnds[i]);
+        }
+        pointers.finish();
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void restartSequence(String sequence, String table) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + nextId(table));
+    }
+
+    private static long randomBelow(Random random, long bound) {
+        return (long) (random.nextDouble() * bound);
+    }
+
+    /**
+     * Бронирования вещей, вставляемые вещь за вещью. Число бронирований вещи выбирается по степенному закону,
+     * окно от года назад до трёх месяцев вперёд делится на равные слоты по числу бронирований, и в каждом слоте
+     * лежит одно бронирование, поэтому периоды не пересекаются. Попутно запоминаются последнее и следующее
+     * бронирование для item_booking_pointers и равномерная выборка завершённых бронирований для комментариев.
+     */
+    private class BookingTimelines {
+        private final DatagenPlan plan;
+        private final Random random;
+        private final int[] owners;
+        private final long userBase;
+        private final long itemBase;
+        private final long bookingBase;
+        private final Long[] lastBookings;
+        private final Long[] nextBookings;
+        private final LocalDateTime[] currentEnds;
+        private final long[] commentItems;
+        private final long[] commentAuthors;
+        private final LocalDateTime[] commentEnds;
+        private long commentCandidates;
+
+        BookingTimelines(DatagenPlan plan, Random random, int[] owners, long userBase, long itemBase, long bookingBase) {
+            this.plan = plan;
+            this.random = random;
+            this.owners = owners;
+            this.userBase = userBase;
+            this.itemBase = itemBase;
+            this.bookingBase = bookingBase;
+            this.lastBookings = new Long[owners.length];
+            this.nextBookings = new Long[owners.length];
+            this.currentEnds = new LocalDateTime[owners.length];
+            this.commentItems = new long[plan.getComments()];
+            this.commentAuthors = new long[plan.getComments()];
+            this.commentEnds = new LocalDateTime[plan.getComments()];
+        }
+
+        long write() {
+            if (owners.length == 0 || plan.getUsers() < 2) {
+                return 0;
+            }
+            int[] counts = new int[owners.length];
+            ZipfSampler itemSampler = new ZipfSampler(owners.length, plan.getPopularityExponent(), random);
+            for (int i = 0; i < plan.getBookings(); i++) {
+                counts[itemSampler.next(random)]++;
+            }
+            ZipfSampler bookerSampler = new ZipfSampler(plan.getUsers(), plan.getPopularityExponent(), random);
+            JdbcBatch bookings = new JdbcBatch(jdbcTemplate,
+                    "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?)",
+                    plan.getBatchSize());
+            long id = bookingBase;
+            for (int item = 0; item < owners.length; item++) {
+                id = writeItem(item, Math.min(counts[item], (HISTORY_SECONDS + FUTURE_SECONDS) / (2 * MIN_BOOKING_SECONDS)),
+                        id, bookerSampler, bookings);
+            }
+            return bookings.finish();
+        }
+
+        int commentCount() {
+            return (int) Math.min(commentCandidates, commentItems.length);
+        }
+
+        private long writeItem(int item, long count, long id, ZipfSampler bookerSampler, JdbcBatch bookings) {
+            LocalDateTime anchor = plan.getAnchor();
+            LocalDateTime windowStart = anchor.minusSeconds(HISTORY_SECONDS);
+            long slot = count == 0 ? 0 : (HISTORY_SECONDS + FUTURE_SECONDS) / count;
+            Long endedApproved = null;
+            Long currentApproved = null;
+            for (long j = 0; j < count; j++, id++) {
+                long offset = randomBelow(random, slot / 2);
+                long duration = MIN_BOOKING_SECONDS
+                        + randomBelow(random, Math.min(slot - offset, MAX_BOOKING_SECONDS) - MIN_BOOKING_SECONDS);
+                LocalDateTime start = windowStart.plusSeconds(j * slot + offset);
+                LocalDateTime end = start.plusSeconds(duration);
+                long booker = userBase + booker(bookerSampler, owners[item]);
+                Status status = status(start, end, anchor);
+                bookings.add(id, start, end, itemBase + item, booker, status.name());
+                if (status == Status.APPROVED && end.isBefore(anchor)) {
+                    endedApproved = id;
+                    sampleForComment(itemBase + item, booker, end);
+                } else if (status == Status.APPROVED && start.isBefore(anchor)) {
+                    currentApproved = id;
+                    currentEnds[item] = end;
+                } else if (nextBookings[item] == null && start.isAfter(anchor)
+                        && (status == Status.APPROVED || status == Status.WAITING)) {
+                    nextBookings[item] = id;
+                }
+            }
+            lastBookings[item] = endedApproved != null ? endedApproved : currentApproved;
+            return id;
+        }
+
+        private int booker(ZipfSampler bookerSampler, int owner) {
+            int booker = bookerSampler.next(random);
+            return booker != owner ? booker : (owner + 1) % plan.getUsers();
+        }
+
+        private Status status(LocalDateTime start, LocalDateTime end, LocalDateTime anchor) {
+            double roll = random.nextDouble();
+            if (end.isBefore(anchor)) {
+                return roll < 0.8 ? Status.APPROVED : roll < 0.9 ? Status.REJECTED : Status.CANCELED;
+            }
+            if (start.isBefore(anchor)) {
+                return Status.APPROVED;
+            }
+            return roll < 0.5 ? Status.APPROVED : roll < 0.9 ? Status.WAITING : Status.REJECTED;
+        }
+
+        /**
+         * Выборка резервуаром: каждое завершённое подтверждённое бронирование попадает в комментарии
+         * с одинаковой вероятностью, не храня их все в памяти.
+         */
+        private void sampleForComment(long itemId, long authorId, LocalDateTime end) {
+            long seen = commentCandidates++;
+            int slot = seen < commentItems.length ? (int) seen : (int) randomBelow(random, seen + 1);
+            if (slot < commentItems.length) {
+                commentItems[slot] = itemId;
+                commentAuthors[slot] = authorId;
+                commentEnds[slot] = end;
+            }
+        }
+    }
+}
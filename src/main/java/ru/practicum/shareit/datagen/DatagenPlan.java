@@ -0,0 +1,30 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Объём и параметры генерируемых данных. Одинаковые параметры дают одинаковый набор строк.
+ */
+@Value
+@Builder
+public class DatagenPlan {
+    long seed;
+    int users;
+    int items;
+    int requests;
+    int bookings;
+    int comments;
+    int batchSize;
+    /**
+     * Показатель степенного распределения популярности: чем больше, тем сильнее бронирования
+     * сосредоточены на немногих вещах, а вещи — у немногих владельцев.
+     */
+    double popularityExponent;
+    /**
+     * Момент, относительно которого бронирования делятся на прошедшие, текущие и будущие.
+     */
+    LocalDateTime anchor;
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.datagen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Запускает генерацию при старте с профилем datagen, до события ApplicationReadyEvent: поисковый индекс
+ * в памяти строится уже по сгенерированным вещам. Объёмы задаются свойствами shareit.datagen.*.
+ */
+@Component
+@Profile("datagen")
+public class DatagenRunner implements ApplicationRunner {
+    private final DataGenerator dataGenerator;
+    private final DatagenPlan plan;
+
+    public DatagenRunner(DataGenerator dataGenerator,
+                         @Value("${shareit.datagen.seed:42}") long seed,
+                         @Value("${shareit.datagen.users:10000}") int users,
+                         @Value("${shareit.datagen.items:50000}") int items,
+                         @Value("${shareit.datagen.requests:5000}") int requests,
+                         @Value("${shareit.datagen.bookings:500000}") int bookings,
+                         @Value("${shareit.datagen.comments:100000}") int comments,
+                         @Value("${shareit.datagen.batch-size:1000}") int batchSize,
+                         @Value("${shareit.datagen.popularity-exponent:1.1}") double popularityExponent,
+                         @Value("${shareit.datagen.anchor:}") String anchor) {
+        this.dataGenerator = dataGenerator;
+        this.plan = DatagenPlan.builder()
+                .seed(seed)
+                .users(users)
+                .items(items)
+                .requests(requests)
+                .bookings(bookings)
+                .comments(comments)
+                .batchSize(batchSize)
+                .popularityExponent(popularityExponent)
+                .anchor(anchor.isBlank() ? LocalDate.now().atStartOfDay() : LocalDateTime.parse(anchor))
+                .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        dataGenerator.generate(plan);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.datagen;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Накапливает строки одной таблицы и отправляет их одним пакетом JDBC по достижении размера пакета.
+ */
+class JdbcBatch {
+    private final JdbcTemplate jdbcTemplate;
+    private final String sql;
+    private final int size;
+    private List<Object[]> rows;
+    private long written;
+
+    JdbcBatch(JdbcTemplate jdbcTemplate, String sql, int size) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sql = sql;
+        this.size = size;
+        this.rows = new ArrayList<>(size);
+    }
+
+    void add(Object... row) {
+        rows.add(row);
+        if (rows.size() == size) {
+            flush();
+        }
+    }
+
+    long finish() {
+        flush();
+        return written;
+    }
+
+    private void flush() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        written += rows.size();
+        rows = new ArrayList<>(size);
+    }
+}
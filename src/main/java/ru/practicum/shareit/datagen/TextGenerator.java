@@ -0,0 +1,87 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Имена, названия и описания на кириллице и латинице. Каждый текст целиком на одном языке,
+ * язык выбирается случайно, как у пользователей, которые пишут кто как привык.
+ */
+class TextGenerator {
+    private static final List<String> FIRST_NAMES_RU = List.of("Алексей", "Мария", "Иван", "Ольга", "Дмитрий",
+            "Анна", "Сергей", "Екатерина", "Николай", "Татьяна", "Павел", "Наталья", "Артём", "Юлия");
+    private static final List<String> LAST_NAMES_RU = List.of("Иванов", "Смирнова", "Кузнецов", "Попова",
+            "Соколов", "Лебедева", "Козлов", "Новикова", "Морозов", "Волкова", "Зайцев", "Павлова");
+    private static final List<String> FIRST_NAMES_EN = List.of("Alex", "Maria", "John", "Olga", "David",
+            "Anna", "Peter", "Kate", "Nick", "Tanya", "Paul", "Julia");
+    private static final List<String> LAST_NAMES_EN = List.of("Smith", "Brown", "Ivanov", "Miller", "Petrov",
+            "Wilson", "Taylor", "Orlov", "Clark", "Sokolov");
+
+    private static final List<String> NOUNS_RU = List.of("дрель", "отвёртка", "стремянка", "палатка",
+            "велосипед", "перфоратор", "шуруповёрт", "пила", "газонокосилка", "проектор", "спальник",
+            "самокат", "мангал", "лобзик", "болгарка", "пылесос", "байдарка", "снегоступы");
+    private static final List<String> ADJECTIVES_RU = List.of("аккумуляторная", "складная", "туристическая",
+            "лёгкая", "профессиональная", "компактная", "новая", "детская", "садовая", "мощная");
+    private static final List<String> PHRASES_RU = List.of("в отличном состоянии", "с запасным аккумулятором",
+            "почти не использовалась", "подходит для дачи", "есть кейс и насадки", "забирать у метро",
+            "инструкция прилагается", "небольшие царапины на корпусе");
+
+    private static final List<String> NOUNS_EN = List.of("drill", "screwdriver", "ladder", "tent", "bicycle",
+            "hammer drill", "saw", "lawn mower", "projector", "sleeping bag", "scooter", "grill", "jigsaw",
+            "vacuum cleaner", "kayak", "snowshoes");
+    private static final List<String> ADJECTIVES_EN = List.of("cordless", "folding", "camping", "lightweight",
+            "professional", "compact", "brand new", "kids", "garden", "heavy duty");
+    private static final List<String> PHRASES_EN = List.of("in great condition", "comes with a spare battery",
+            "barely used", "perfect for the country house", "case and bits included", "pick up near the station",
+            "manual included", "minor scratches on the body");
+
+    private static final List<String> COMMENTS_RU = List.of("Всё работает, спасибо!", "Вещь как в описании.",
+            "Хозяин отзывчивый, договорились быстро.", "Немного потёрта, но свою задачу выполнила.",
+            "Брал на выходные, очень выручила.", "Рекомендую.");
+    private static final List<String> COMMENTS_EN = List.of("Worked perfectly, thanks!", "Exactly as described.",
+            "Friendly owner, quick handover.", "A bit worn but did the job.", "Saved my weekend.",
+            "Would rent again.");
+
+    private final Random random;
+
+    TextGenerator(Random random) {
+        this.random = random;
+    }
+
+    String userName() {
+        return random.nextBoolean()
+                ? pick(FIRST_NAMES_RU) + " " + pick(LAST_NAMES_RU)
+                : pick(FIRST_NAMES_EN) + " " + pick(LAST_NAMES_EN);
+    }
+
+    String itemName() {
+        return random.nextBoolean()
+                ? capitalize(pick(ADJECTIVES_RU) + " " + pick(NOUNS_RU))
+                : capitalize(pick(ADJECTIVES_EN) + " " + pick(NOUNS_EN));
+    }
+
+    String itemDescription() {
+        return random.nextBoolean()
+                ? capitalize(pick(NOUNS_RU) + ", " + pick(ADJECTIVES_RU) + ", " + pick(PHRASES_RU) + ", " + pick(PHRASES_RU))
+                : capitalize(pick(ADJECTIVES_EN) + " " + pick(NOUNS_EN) + ", " + pick(PHRASES_EN) + ", " + pick(PHRASES_EN));
+    }
+
+    String requestDescription() {
+        int days = 1 + random.nextInt(14);
+        return random.nextBoolean()
+                ? "Нужна " + pick(NOUNS_RU) + " на " + days + " дн."
+                : "Looking for a " + pick(NOUNS_EN) + " for " + days + " days";
+    }
+
+    String commentText() {
+        return random.nextBoolean() ? pick(COMMENTS_RU) : pick(COMMENTS_EN);
+    }
+
+    private String pick(List<String> words) {
+        return words.get(random.nextInt(words.size()));
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Выбирает номер от 0 до size - 1 с вероятностью, обратно пропорциональной (ранг + 1) ^ exponent.
+ * Ранги перемешаны, поэтому популярные номера не собираются в начале диапазона.
+ */
+class ZipfSampler {
+    private final double[] cumulative;
+    private final int[] byRank;
+
+    ZipfSampler(int size, double exponent, Random random) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        byRank = new int[size];
+        for (int i = 0; i < size; i++) {
+            byRank[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byRank[i];
+            byRank[i] = byRank[j];
+            byRank[j] = swap;
+        }
+    }
+
+    int next(Random random) {
+        double point = random.nextDouble() * cumulative[cumulative.length - 1];
+        int rank = Arrays.binarySearch(cumulative, point);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return byRank[Math.min(rank, byRank.length - 1)];
+    }
+}
@@ -52,4 +52,13 @@ public class ContollerExceptionHandler {
         log.error("IncorrectTimeException", e);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<?> handleIncorrectCursorException(final IncorrectCursorException e) {
+        log.error("IncorrectCursorException", e);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", e.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
 }
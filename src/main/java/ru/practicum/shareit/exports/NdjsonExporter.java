@@ -0,0 +1,60 @@
+package ru.practicum.shareit.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Пишет результат потокового запроса в ответ по одному JSON-объекту на строку.
+ * Каждые {@code shareit.export.clear-every} строк буфер отправляется клиенту, а контекст персистентности
+ * очищается, поэтому расход памяти не зависит от размера выгрузки. Вызывать внутри транзакции.
+ */
+@Component
+public class NdjsonExporter {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final int clearEvery;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public NdjsonExporter(ObjectMapper objectMapper, @Value("${shareit.export.clear-every:500}") int clearEvery) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.clearEvery = clearEvery;
+    }
+
+    public <T> long write(Stream<T> rows, Function<T, ?> mapper, OutputStream out) {
+        long count = 0;
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, mapper.apply(iterator.next()));
+                generator.writeRaw('\n');
+                if (++count % clearEvery == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
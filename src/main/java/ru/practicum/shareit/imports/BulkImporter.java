@@ -0,0 +1,130 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Потоково читает тело запроса, проверяет строки и сохраняет их пакетами по {@code shareit.import.chunk-size}.
+ * Каждый пакет сохраняется в своей транзакции: ошибка в одном пакете не откатывает уже сохранённые.
+ */
+@Slf4j
+@Component
+public class BulkImporter {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImporter(ObjectMapper objectMapper,
+                        Validator validator,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${shareit.import.chunk-size:1000}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> ImportReport run(InputStream body, ImportFormat format, Class<T> rowType, ImportChunkWriter<T> writer) {
+        ImportReport report = new ImportReport();
+        ImportRowReader reader = format.open(body, objectMapper);
+        List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+        long number = 0;
+        while (true) {
+            JsonNode node;
+            try {
+                node = reader.next();
+            } catch (ImportRowException e) {
+                report.countRow();
+                report.reject(++number, e.getMessage());
+                continue;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (node == null) {
+                break;
+            }
+            report.countRow();
+            number++;
+            T value = convert(node, rowType, number, report);
+            if (value == null) {
+                continue;
+            }
+            chunk.add(new ImportRow<>(number, value));
+            if (chunk.size() == chunkSize) {
+                write(chunk, writer, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, writer, report);
+        }
+        log.info("Импорт {}: прочитано строк {}, сохранено {}, отклонено {}", rowType.getSimpleName(),
+                report.getTotal(), report.getImported(), report.getErrors().size());
+        return report;
+    }
+
+    private <T> T convert(JsonNode node, Class<T> rowType, long number, ImportReport report) {
+        T value;
+        try {
+            value = objectMapper.treeToValue(node, rowType);
+        } catch (JsonProcessingException e) {
+            report.reject(number, e.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            report.reject(number, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return value;
+    }
+
+    private <T> void write(List<ImportRow<T>> chunk, ImportChunkWriter<T> writer, ImportReport report) {
+        List<ImportRow<T>> resolved = writer.resolve(chunk, report);
+        if (resolved.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writer.save(resolved);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.countImported(resolved.size());
+        } catch (DataAccessException | PersistenceException e) {
+            // flush() общего EntityManager бросает PersistenceException без перевода: BulkImporter не @Repository
+            log.warn("Не удалось сохранить пакет строк {}-{}", resolved.get(0).getNumber(),
+                    resolved.get(resolved.size() - 1).getNumber(), e);
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            resolved.forEach(row -> report.reject(row.getNumber(), "Пакет не сохранён: " + cause));
+        }
+    }
+}
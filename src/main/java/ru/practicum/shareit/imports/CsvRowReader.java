@@ -0,0 +1,112 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Читает CSV по RFC 4180: первая запись задаёт имена полей, значения в кавычках могут содержать
+ * разделители, переводы строк и удвоенные кавычки. Пустые значения в результат не попадают.
+ */
+class CsvRowReader implements ImportRowReader {
+    private static final int EOF = -1;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private int pushedBack = EOF;
+
+    CsvRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public JsonNode next() throws IOException {
+        if (header == null) {
+            header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            header.set(0, header.get(0).replace(BYTE_ORDER_MARK, ""));
+        }
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+        if (values.size() != header.size()) {
+            throw new ImportRowException(String.format("Ожидалось полей: %d, получено: %d", header.size(), values.size()));
+        }
+        ObjectNode row = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                row.put(header.get(i), values.get(i));
+            }
+        }
+        return row;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new ImportRowException("Не закрыта кавычка в последней строке");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                values.add(value.toString().trim());
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != EOF) {
+            int c = pushedBack;
+            pushedBack = EOF;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.imports;
+
+import java.util.List;
+
+/**
+ * Сохраняет пакет строк импорта одного типа.
+ */
+public interface ImportChunkWriter<T> {
+    /**
+     * Проверяет ссылки и уникальность для всего пакета несколькими запросами.
+     *
+     * @return строки, которые можно сохранять; об остальных записывается ошибка в отчёт
+     */
+    List<ImportRow<T>> resolve(List<ImportRow<T>> rows, ImportReport report);
+
+    /**
+     * Сохраняет проверенные строки. Вызывается в отдельной транзакции на каждый пакет.
+     */
+    void save(List<ImportRow<T>> rows);
+}
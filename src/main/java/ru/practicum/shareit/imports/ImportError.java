@@ -0,0 +1,9 @@
+package ru.practicum.shareit.imports;
+
+import lombok.Value;
+
+@Value
+public class ImportError {
+    long row;
+    String message;
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Формат тела запроса массового импорта. Оба формата читаются построчно, тело целиком в память не загружается.
+ */
+public enum ImportFormat {
+    CSV {
+        @Override
+        public ImportRowReader open(InputStream body, ObjectMapper objectMapper) {
+            return new CsvRowReader(reader(body), objectMapper);
+        }
+    },
+    NDJSON {
+        @Override
+        public ImportRowReader open(InputStream body, ObjectMapper objectMapper) {
+            return new NdjsonRowReader(reader(body), objectMapper);
+        }
+    };
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    public abstract ImportRowReader open(InputStream body, ObjectMapper objectMapper);
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.imports;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог массового импорта: сколько строк прочитано и сохранено, и причина отказа для каждой отклонённой строки.
+ */
+@Getter
+public class ImportReport {
+    private long total;
+    private long imported;
+    private final List<ImportError> errors = new ArrayList<>();
+
+    void countRow() {
+        total++;
+    }
+
+    void countImported(int rows) {
+        imported += rows;
+    }
+
+    public void reject(long row, String message) {
+        errors.add(new ImportError(row, message));
+    }
+}
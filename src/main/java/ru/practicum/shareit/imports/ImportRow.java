@@ -0,0 +1,12 @@
+package ru.practicum.shareit.imports;
+
+import lombok.Value;
+
+/**
+ * Строка импорта, прошедшая разбор и валидацию, с её порядковым номером в теле запроса.
+ */
+@Value
+public class ImportRow<T> {
+    long number;
+    T value;
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.imports;
+
+public class ImportRowException extends RuntimeException {
+    public ImportRowException(String message) {
+        super(message);
+    }
+}
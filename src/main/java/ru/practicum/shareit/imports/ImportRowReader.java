@@ -0,0 +1,16 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Последовательно читает строки импорта как JSON-объекты с именами полей в качестве ключей.
+ */
+public interface ImportRowReader {
+    /**
+     * @return следующая строка или null, если данные закончились
+     * @throws ImportRowException если строку нельзя разобрать; чтение можно продолжить со следующей строки
+     */
+    JsonNode next() throws IOException;
+}
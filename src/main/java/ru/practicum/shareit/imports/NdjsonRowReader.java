@@ -0,0 +1,39 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Читает по одному JSON-объекту на строку, пустые строки пропускает.
+ */
+@RequiredArgsConstructor
+class NdjsonRowReader implements ImportRowReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public JsonNode next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        JsonNode row;
+        try {
+            row = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException("Некорректный JSON: " + e.getOriginalMessage());
+        }
+        if (!row.isObject()) {
+            throw new ImportRowException("Строка должна содержать JSON-объект");
+        }
+        return row;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск PostgreSQL по столбцу items.search_vector с GIN-индексом (см. schema-postgres.sql).
+ * Совпадение ищется по словоформам, а не по подстроке; результаты упорядочены по ts_rank.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "fulltext")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.findAllAvailableByFullText(text, pageable).getContent();
+    }
+}
@@ -0,0 +1,302 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс вещей в памяти приложения. Слово запроса совпадает со словами названия
+ * или описания, которые с него начинаются; вещь должна содержать все слова запроса.
+ * Индекс строится из базы при первом обращении и далее обновляется после фиксации транзакций,
+ * изменивших вещь. База используется только для загрузки найденной страницы.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByItem = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private volatile boolean loaded;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        Set<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+        List<Long> ids = new ArrayList<>(pageable.isPaged() ? pageable.getPageSize() : 16);
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) available.clone();
+            for (String token : tokens) {
+                BitSet tokenMatches = new BitSet();
+                postingsByTerm.subMap(token, true, token + Character.MAX_VALUE, false)
+                        .values().forEach(postings -> postings.addTo(tokenMatches));
+                matches.and(tokenMatches);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            for (int id = matches.nextSetBit(0); id >= 0 && ids.size() < limit; id = matches.nextSetBit(id + 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    ids.add((long) id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Item> items = new ArrayList<>();
+        itemRepository.findAllById(ids).forEach(items::add);
+        items.sort(Comparator.comparing(Item::getId));
+        return items;
+    }
+
+    @Override
+    public void update(Item item) {
+        int id = Math.toIntExact(item.getId());
+        Set<String> terms = tokenize(item.getName() + " " + item.getDescription());
+        boolean isAvailable = Boolean.TRUE.equals(item.getAvailable());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                index(id, terms, isAvailable);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(long itemId) {
+        int id = Math.toIntExact(itemId);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+            Page<Item> page;
+            do {
+                page = itemRepository.findAll(pageable);
+                for (Item item : page) {
+                    index(Math.toIntExact(item.getId()), tokenize(item.getName() + " " + item.getDescription()),
+                            Boolean.TRUE.equals(item.getAvailable()));
+                }
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+            loaded = true;
+            log.info("Поисковый индекс построен: {} вещей, {} слов", termsByItem.size(), postingsByTerm.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(int id, Set<String> terms, boolean isAvailable) {
+        Set<String> previous = termsByItem.put(id, terms);
+        if (previous != null) {
+            for (String term : previous) {
+                if (!terms.contains(term)) {
+                    removePosting(term, id);
+                }
+            }
+        }
+        for (String term : terms) {
+            if (previous == null || !previous.contains(term)) {
+                postingsByTerm.computeIfAbsent(term, t -> new Postings()).add(id);
+            }
+        }
+        available.set(id, isAvailable);
+    }
+
+    private void unindex(int id) {
+        Set<String> previous = termsByItem.remove(id);
+        if (previous != null) {
+            previous.forEach(term -> removePosting(term, id));
+        }
+        available.clear(id);
+    }
+
+    private void removePosting(String term, int id) {
+        Postings postings = postingsByTerm.get(term);
+        if (postings != null && postings.remove(id) && postings.isEmpty()) {
+            postingsByTerm.remove(term);
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                char lower = Character.toLowerCase(c);
+                token.append(lower == 'ё' ? 'е' : lower);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Возрастающий список id вещей, сжатый как разности соседних id в формате varint.
+     * Новые вещи получают наибольший id, поэтому добавление почти всегда дописывает байты в конец.
+     */
+    static final class Postings {
+        private byte[] data = new byte[4];
+        private int length;
+        private int size;
+        private int last = -1;
+
+        void add(int id) {
+            if (id > last) {
+                append(id - Math.max(last, 0), id);
+                return;
+            }
+            int[] ids = decode();
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            int[] updated = new int[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = id;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            encode(updated);
+        }
+
+        boolean remove(int id) {
+            int[] ids = decode();
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return false;
+            }
+            int[] updated = new int[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, position);
+            System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+            encode(updated);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(BitSet target) {
+            int id = 0;
+            int offset = 0;
+            while (offset < length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[offset++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                target.set(id);
+            }
+        }
+
+        int[] decode() {
+            int[] ids = new int[size];
+            int id = 0;
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[offset++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                ids[i] = id;
+            }
+            return ids;
+        }
+
+        private void encode(int[] ids) {
+            data = new byte[Math.max(4, ids.length * 2)];
+            length = 0;
+            size = 0;
+            last = -1;
+            for (int id : ids) {
+                append(id - Math.max(last, 0), id);
+            }
+        }
+
+        private void append(int delta, int id) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+            size++;
+            last = id;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingHistoryDto;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointers;
+import ru.practicum.shareit.booking.ItemBookingPointersRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.comments.Comment;
+import ru.practicum.shareit.comments.CommentDTO;
+import ru.practicum.shareit.comments.CommentMapper;
+import ru.practicum.shareit.comments.CommentRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Догружает к списку вещей комментарии, последнее и следующее бронирование, а к запросам — ответившие на них вещи.
+ * Каждый метод выполняет фиксированное число запросов независимо от количества вещей.
+ * Бронирования берутся из материализованных ссылок item_booking_pointers.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBatchLoader {
+
+    private static final List<Status> BOOKING_STATUSES = List.of(Status.APPROVED, Status.WAITING);
+
+    private final CommentRepository commentRepository;
+    private final CommentMapper commentMapper;
+    private final BookingRepository bookingRepository;
+    private final ItemBookingPointersRepository itemBookingPointersRepository;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+
+    public void loadComments(List<? extends ItemCommentsDTO> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CommentDTO>> commentsByItem = new HashMap<>();
+        for (Comment comment : commentRepository.findAllByItemIdIn(idsOf(items))) {
+            commentsByItem.computeIfAbsent(comment.getItem().getId(), id -> new ArrayList<>())
+                    .add(commentMapper.toCommentDTO(comment));
+        }
+        items.forEach(item -> item.setComments(commentsByItem.getOrDefault(item.getId(), new ArrayList<>())));
+    }
+
+    public void loadBookings(List<? extends ItemDTO> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemDTO> itemsById = new HashMap<>();
+        items.forEach(item -> itemsById.put(item.getId(), item));
+        List<ItemDTO> stale = new ArrayList<>();
+        for (ItemBookingPointers pointers : itemBookingPointersRepository.findAllByItemIdIn(itemsById.keySet())) {
+            ItemDTO item = itemsById.get(pointers.getItemId());
+            if (pointers.isStale(now)) {
+                stale.add(item);
+                continue;
+            }
+            item.setLastBooking(toHistoryDto(pointers.getLastBooking()));
+            item.setNextBooking(toHistoryDto(pointers.getNextBooking()));
+        }
+        if (!stale.isEmpty()) {
+            loadBookingsFromHistory(stale, now);
+        }
+    }
+
+    /**
+     * Ссылки вещей, у которых следующее бронирование уже началось или текущее закончилось, ещё не сдвинуты плановым пересчётом
+     * в {@link ru.practicum.shareit.booking.ItemBookingPointersService}, поэтому для них бронирования
+     * просматриваются напрямую.
+     */
+    private void loadBookingsFromHistory(List<ItemDTO> items, LocalDateTime now) {
+        Map<Long, BookingHistory> historyByItem = new HashMap<>();
+        for (Booking booking : bookingRepository.findAllByItemIdInAndStatusIn(idsOf(items), BOOKING_STATUSES)) {
+            historyByItem.computeIfAbsent(booking.getItem().getId(), id -> new BookingHistory())
+                    .accept(booking, now);
+        }
+        items.forEach(item -> {
+            BookingHistory history = historyByItem.get(item.getId());
+            item.setLastBooking(history == null ? null : history.last());
+            item.setNextBooking(history == null ? null : history.next());
+        });
+    }
+
+    public Map<Long, List<ItemDTO>> loadItemsByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<ItemDTO>> itemsByRequest = new HashMap<>();
+        for (Item item : itemRepository.findAllByRequestIdIn(requestIds)) {
+            itemsByRequest.computeIfAbsent(item.getRequest().getId(), id -> new ArrayList<>())
+                    .add(itemMapper.toItemDTO(item));
+        }
+        return itemsByRequest;
+    }
+
+    private static List<Long> idsOf(List<? extends ItemDTO> items) {
+        return items.stream().map(ItemDTO::getId).collect(Collectors.toList());
+    }
+
+    private static BookingHistoryDto toHistoryDto(Booking booking) {
+        return booking == null ? null
+                : new BookingHistoryDto(booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    /**
+     * Последнее бронирование — завершившееся подтверждённое с наибольшей датой окончания, а при его отсутствии —
+     * текущее подтверждённое. Следующее — ближайшее из ещё не начавшихся.
+     */
+    static final class BookingHistory {
+        private Booking current;
+        private Booking previous;
+        private Booking next;
+
+        void accept(Booking booking, LocalDateTime now) {
+            if (booking.getStart().isAfter(now)) {
+                if (next == null || booking.getStart().isBefore(next.getStart())) {
+                    next = booking;
+                }
+                return;
+            }
+            if (!Status.APPROVED.equals(booking.getStatus())) {
+                return;
+            }
+            if (booking.getEnd().isBefore(now)) {
+                if (previous == null || booking.getEnd().isAfter(previous.getEnd())) {
+                    previous = booking;
+                }
+            } else if (booking.getStart().isBefore(now) && booking.getEnd().isAfter(now)
+                    && (current == null || booking.getStart().isAfter(current.getStart()))) {
+                current = booking;
+            }
+        }
+
+        BookingHistoryDto last() {
+            return toHistoryDto(previous != null ? previous : current);
+        }
+
+        BookingHistoryDto next() {
+            return toHistoryDto(next);
+        }
+    }
+}
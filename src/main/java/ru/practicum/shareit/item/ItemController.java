@@ -1,16 +1,24 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comments.CommentDTO;
 import ru.practicum.shareit.comments.CommentService;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.OffsetBasedPageRequest;
+import ru.practicum.shareit.exports.NdjsonExporter;
+import ru.practicum.shareit.imports.ImportFormat;
+import ru.practicum.shareit.imports.ImportReport;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 
@@ -22,6 +30,7 @@ public class ItemController {
     private final ItemService itemService;
 
     private final CommentService commentService;
+    private final ItemImportService itemImportService;
     private final String userIdHeader = "X-Sharer-User-Id";
 
     @PostMapping()
@@ -31,17 +40,35 @@ public class ItemController {
         return ResponseEntity.status(201).body(itemCreated);
     }
 
+    @PostMapping(path = "/import", consumes = ImportFormat.CSV_MEDIA_TYPE)
+    public ResponseEntity<ImportReport> importCsv(InputStream body,
+                                                  @RequestHeader(value = userIdHeader, required = false) Long userId) {
+        return ResponseEntity.ok().body(itemImportService.importItems(body, ImportFormat.CSV, userId));
+    }
+
+    @PostMapping(path = "/import", consumes = ImportFormat.NDJSON_MEDIA_TYPE)
+    public ResponseEntity<ImportReport> importNdjson(InputStream body,
+                                                     @RequestHeader(value = userIdHeader, required = false) Long userId) {
+        return ResponseEntity.ok().body(itemImportService.importItems(body, ImportFormat.NDJSON, userId));
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<ItemDTO> updateItem(@RequestBody ItemDTO itemDto, @PathVariable Long itemId, @RequestHeader(userIdHeader) Long userId) {
         ItemDTO itemUpdated = itemService.updateItem(itemDto, itemId, userId);
         return ResponseEntity.ok().body(itemUpdated);
     }
 
+    @GetMapping("/export")
+    public void exportItems(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        itemService.exportAll(response.getOutputStream());
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Collection<ItemDTO>> searchItems(@RequestParam(name = "text") String text,
                                                            @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
                                                            @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size) {
-        return ResponseEntity.ok().body(itemService.searchItemsByDescription(text, PageRequest.of(from / size, size)));
+        return ResponseEntity.ok().body(itemService.searchItemsByDescription(text, OffsetBasedPageRequest.of(from, size)));
     }
 
     @DeleteMapping("/{itemId}")
@@ -58,8 +85,12 @@ public class ItemController {
     @GetMapping()
     public ResponseEntity<List<ItemCommentsDTO>> findAll(@RequestHeader(userIdHeader) Long userId,
                                                          @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-                                                         @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size) {
-        return ResponseEntity.ok().body(itemService.getAllItemsByUserId(userId, PageRequest.of(from / size, size)));
+                                                         @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size,
+                                                         @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            return itemService.getItemsByUserIdAfter(userId, KeysetCursor.decode(after), size).toResponse();
+        }
+        return ResponseEntity.ok().body(itemService.getAllItemsByUserId(userId, OffsetBasedPageRequest.of(from, size, Sort.by("id"))));
     }
 
     @PostMapping("/{itemId}/comment")
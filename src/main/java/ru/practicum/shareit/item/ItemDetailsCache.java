@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingHistoryDto;
+import ru.practicum.shareit.common.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Кэш карточек вещей для GET /items/{itemId}. Общая для всех пользователей часть карточки
+ * (вещь и комментарии) и видимые только владельцу бронирования хранятся раздельно, чтобы
+ * изменение бронирований не сбрасывало комментарии и наоборот. Вызывающий код всегда получает копию.
+ */
+@Component
+public class ItemDetailsCache {
+
+    private final Cache<Long, ItemCommentsDTO> details;
+    private final Cache<Long, ItemBookings> bookings;
+
+    public ItemDetailsCache(@Value("${shareit.cache.items.maximum-size:10000}") long maximumSize,
+                            @Value("${shareit.cache.items.expire-after-write:10m}") Duration expireAfterWrite) {
+        details = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        bookings = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public ItemCommentsDTO getDetails(long itemId, Supplier<ItemCommentsDTO> loader) {
+        return copyOf(details.get(itemId, id -> loader.get()));
+    }
+
+    /**
+     * Ссылки на бронирования устаревают, когда начинается следующее бронирование или заканчивается
+     * последнее, которое на момент загрузки ещё шло, поэтому такая запись считается промахом и загружается заново.
+     * Загрузка идёт внутри compute, как и у карточек: сброс, пришедший во время загрузки, дождётся её и удалит
+     * результат, а не будет перезаписан им.
+     */
+    public void applyBookings(ItemCommentsDTO item, Supplier<ItemCommentsDTO> loader) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemBookings cached = bookings.asMap().compute(item.getId(), (id, current) -> {
+            if (current != null && !current.isStale(now)) {
+                return current;
+            }
+            ItemCommentsDTO loaded = loader.get();
+            return new ItemBookings(loaded.getLastBooking(), loaded.getNextBooking(), now);
+        });
+        item.setLastBooking(cached.last);
+        item.setNextBooking(cached.next);
+    }
+
+    public void evictDetails(long itemId) {
+        AfterCommit.run(() -> details.invalidate(itemId));
+    }
+
+    public void evictBookings(long itemId) {
+        AfterCommit.run(() -> bookings.invalidate(itemId));
+    }
+
+    public void evict(long itemId) {
+        evictDetails(itemId);
+        evictBookings(itemId);
+    }
+
+    public CacheStats detailsStats() {
+        return details.stats();
+    }
+
+    public CacheStats bookingsStats() {
+        return bookings.stats();
+    }
+
+    public long detailsSize() {
+        return details.estimatedSize();
+    }
+
+    public long bookingsSize() {
+        return bookings.estimatedSize();
+    }
+
+    private static ItemCommentsDTO copyOf(ItemCommentsDTO source) {
+        ItemCommentsDTO copy = new ItemCommentsDTO(source.getComments() == null ? null : List.copyOf(source.getComments()));
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setAvailable(source.getAvailable());
+        copy.setOwner(source.getOwner());
+        copy.setRequestId(source.getRequestId());
+        return copy;
+    }
+
+    private static final class ItemBookings {
+        private final BookingHistoryDto last;
+        private final BookingHistoryDto next;
+        private final LocalDateTime lastEnd;
+
+        private ItemBookings(BookingHistoryDto last, BookingHistoryDto next, LocalDateTime loadedAt) {
+            this.last = last;
+            this.next = next;
+            this.lastEnd = last != null && last.getEnd().isAfter(loadedAt) ? last.getEnd() : null;
+        }
+
+        private boolean isStale(LocalDateTime now) {
+            return next != null && !next.getStart().isAfter(now)
+                    || lastEnd != null && !lastEnd.isAfter(now);
+        }
+    }
+}
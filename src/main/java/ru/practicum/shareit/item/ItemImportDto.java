@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Строка массового импорта вещей. Владелец берётся из строки, а если он в ней не указан — из заголовка запроса.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportDto {
+
+    private Long ownerId;
+
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    private String description;
+
+    @NotNull
+    private Boolean available;
+
+    private Long requestId;
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.imports.BulkImporter;
+import ru.practicum.shareit.imports.ImportChunkWriter;
+import ru.practicum.shareit.imports.ImportFormat;
+import ru.practicum.shareit.imports.ImportReport;
+import ru.practicum.shareit.imports.ImportRow;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Массовое создание вещей. Владельцы и запросы всего пакета проверяются двумя запросами,
+ * а при сохранении подставляются ссылками без чтения из базы.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemImportService {
+    private final BulkImporter bulkImporter;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportReport importItems(InputStream body, ImportFormat format, Long defaultOwnerId) {
+        return bulkImporter.run(body, format, ItemImportDto.class, new Writer(defaultOwnerId));
+    }
+
+    @RequiredArgsConstructor
+    private class Writer implements ImportChunkWriter<ItemImportDto> {
+        private final Long defaultOwnerId;
+
+        @Override
+        public List<ImportRow<ItemImportDto>> resolve(List<ImportRow<ItemImportDto>> rows, ImportReport report) {
+            rows.forEach(row -> {
+                if (row.getValue().getOwnerId() == null) {
+                    row.getValue().setOwnerId(defaultOwnerId);
+                }
+            });
+            Set<Long> ownerIds = rows.stream()
+                    .map(row -> row.getValue().getOwnerId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<Long> owners = ownerIds.isEmpty() ? Set.of() : userRepository.findExistingIds(ownerIds);
+            Set<Long> requestIds = rows.stream()
+                    .map(row -> row.getValue().getRequestId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<Long> requests = requestIds.isEmpty() ? Set.of() : itemRequestRepository.findExistingIds(requestIds);
+            List<ImportRow<ItemImportDto>> resolved = new ArrayList<>(rows.size());
+            for (ImportRow<ItemImportDto> row : rows) {
+                ItemImportDto item = row.getValue();
+                if (item.getOwnerId() == null) {
+                    report.reject(row.getNumber(), "ownerId: не указан владелец вещи");
+                } else if (!owners.contains(item.getOwnerId())) {
+                    report.reject(row.getNumber(), String.format("Пользователь с id %d не найден", item.getOwnerId()));
+                } else if (item.getRequestId() != null && !requests.contains(item.getRequestId())) {
+                    report.reject(row.getNumber(), String.format("Запрос id номером %d не найден", item.getRequestId()));
+                } else {
+                    resolved.add(row);
+                }
+            }
+            return resolved;
+        }
+
+        @Override
+        public void save(List<ImportRow<ItemImportDto>> rows) {
+            List<Item> items = rows.stream()
+                    .map(row -> toItem(row.getValue()))
+                    .collect(Collectors.toList());
+            itemRepository.saveAll(items).forEach(itemSearchEngine::update);
+        }
+    }
+
+    private Item toItem(ItemImportDto dto) {
+        Item item = new Item();
+        item.setName(dto.getName());
+        item.setDescription(dto.getDescription());
+        item.setAvailable(dto.getAvailable());
+        item.setOwner(entityManager.getReference(User.class, dto.getOwnerId()));
+        item.setRequest(dto.getRequestId() == null ? null : entityManager.getReference(ItemRequest.class, dto.getRequestId()));
+        return item;
+    }
+}
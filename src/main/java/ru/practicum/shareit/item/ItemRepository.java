@@ -1,25 +1,50 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ItemRepository extends PagingAndSortingRepository<Item, Long> {
-    List<Item> findAllByOwnerId(long ownerId, PageRequest pageRequest);
+    Slice<Item> findAllByOwnerId(long ownerId, Pageable pageable);
 
-    List<Item> findAllByOwnerId(long ownerId);
+    List<Item> findAllByOwnerIdAndIdGreaterThan(long ownerId, long id, Pageable pageable);
 
     List<Item> findAll();
 
-    @Query("select u from Item u where upper(u.name) like %:description% or upper(u.description) like %:description%")
-    List<Item> findAllByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(String description, Pageable pageable);
+    @Query("select u from Item u where u.available = true " +
+            "and (upper(u.name) like %:text% or upper(u.description) like %:text%)")
+    Slice<Item> findAllAvailableByNameOrDescriptionContaining(String text, Pageable pageable);
+
+    @Query(value = "select i.* from items i, " +
+            "plainto_tsquery('russian', :text) || plainto_tsquery('english', :text) q " +
+            "where i.is_available and i.search_vector @@ q " +
+            "order by ts_rank(i.search_vector, q) desc, i.id",
+            nativeQuery = true)
+    Slice<Item> findAllAvailableByFullText(String text, Pageable pageable);
+
+    @Query("select i from Item i left join fetch i.owner where i.request.id in :ids")
+    List<Item> findAllByRequestIdIn(Collection<Long> ids);
 
-    List<Item> findAllByRequestId(Long id);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> lockById(long id);
 
-    List<Item> findAllByRequestIdIn(List<Long> ids);
+    @Query("select i from Item i join fetch i.owner order by i.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Item> streamAll();
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по тексту в названии и описании.
+ * Реализация выбирается свойством shareit.search.mode.
+ */
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Сообщает о сохранённой вещи. Нужен движкам, которые держат собственный индекс.
+     */
+    default void update(Item item) {
+    }
+
+    default void remove(long itemId) {
+    }
+}
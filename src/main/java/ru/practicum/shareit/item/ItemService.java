@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 
@@ -11,11 +13,15 @@ public interface ItemService {
 
     List<ItemCommentsDTO> getAllItemsByUserId(Long ownerId, Pageable pageable);
 
+    KeysetPage<ItemCommentsDTO> getItemsByUserIdAfter(Long ownerId, KeysetCursor after, int size);
+
     ItemDTO addItem(ItemCreateDtoRequest itemDto, Long ownerId);
 
     ItemDTO updateItem(ItemDTO itemDto, Long itemId, Long userId);
 
     void removeItem(Long id);
 
-    Collection<ItemDTO> searchItemsByDescription(String keyword, PageRequest pageRequest);
+    Collection<ItemDTO> searchItemsByDescription(String keyword, Pageable pageable);
+
+    long exportAll(OutputStream out);
 }
@@ -3,21 +3,23 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.BookingDTO;
-import ru.practicum.shareit.booking.BookingHistoryDto;
-import ru.practicum.shareit.booking.BookingService;
-import ru.practicum.shareit.booking.Status;
-import ru.practicum.shareit.comments.Comment;
-import ru.practicum.shareit.comments.CommentMapper;
-import ru.practicum.shareit.comments.CommentRepository;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exports.NdjsonExporter;
+import ru.practicum.shareit.jfr.ItemEnrichmentEvent;
+import ru.practicum.shareit.jfr.ItemSearchEvent;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.sql.SqlRequestStats;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
-import java.time.LocalDateTime;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,97 +30,75 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
-    private final BookingService bookingService;
-    private final CommentMapper commentMapper;
-    private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemBatchLoader itemBatchLoader;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final NdjsonExporter ndjsonExporter;
 
     @Transactional(readOnly = true)
     @Override
     public ItemCommentsDTO getItem(Long id, Long userId) {
-        Item item = itemRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(String.format("Предмет с id номером %d не найден", id)));
-        ItemCommentsDTO itemCommentsDTO = itemMapper.toItemCommentDto(item);
+        ItemCommentsDTO item = itemDetailsCache.getDetails(id, () -> loadDetails(id));
         if (item.getOwner().getId().equals(userId)) {
-            List<BookingDTO> allBookingsOfItemsIds = bookingService.getAllBookingsOfItemsIds(List.of(id));
-            Map<Long, List<BookingDTO>> bookings = convertToMap(allBookingsOfItemsIds);
-            Optional<BookingDTO> currentBookingOfItem = getCurrentBooking(bookings.get(id));
-            getFutureBookingsOfItem(bookings.get(id))
-                    .ifPresent(bookingDTO -> itemCommentsDTO.setNextBooking(new BookingHistoryDto(bookingDTO.getId(), bookingDTO.getBooker().getId(), bookingDTO.getStart(), bookingDTO.getEnd())));
-
-            getPreviousBookingOfItem(bookings.get(id))
-                    .ifPresentOrElse(bookingDTO -> itemCommentsDTO.setLastBooking(new BookingHistoryDto(bookingDTO.getId(), bookingDTO.getBooker().getId(), bookingDTO.getStart(), bookingDTO.getEnd())),
-                            () -> currentBookingOfItem.ifPresent(bookingDTO -> itemCommentsDTO.setLastBooking(new BookingHistoryDto(currentBookingOfItem.get().getId(), currentBookingOfItem.get().getBooker().getId(), bookingDTO.getStart(), bookingDTO.getEnd()))));
+            itemDetailsCache.applyBookings(item, () -> {
+                itemBatchLoader.loadBookings(List.of(item));
+                return item;
+            });
         }
-        itemCommentsDTO.setComments(commentRepository.findAllByItemId(id).stream().map(commentMapper::toCommentDTO).collect(Collectors.toList()));
-        return itemCommentsDTO;
+        return item;
+    }
+
+    private ItemCommentsDTO loadDetails(Long id) {
+        Item item = itemRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(String.format("Предмет с id номером %d не найден", id)));
+        List<ItemCommentsDTO> items = List.of(itemMapper.toItemCommentDto(item));
+        itemBatchLoader.loadComments(items);
+        return items.get(0);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<ItemCommentsDTO> getAllItemsByUserId(Long ownerId, Pageable pageable) {
-        userRepository.findById(ownerId).orElseThrow(() ->
-                new EntityNotFoundException(String.format("Пользователь с id %d не найден", ownerId)));
-
-        List<ItemCommentsDTO> itemsByUser = itemRepository.findAllByOwnerId(ownerId, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
-                .stream()
-                .map(itemMapper::toItemCommentDto)
-                .sorted(Comparator.comparing(ItemDTO::getId))
-                .collect(Collectors.toList());
-
-        List<Long> collect = itemsByUser.stream().map(ItemCommentsDTO::getId).collect(Collectors.toList());
-        List<Comment> commentsByItems = commentRepository.findAllByItemIdIn(collect); //
-        List<BookingDTO> allBookingsOfItemsIds = bookingService.getAllBookingsOfItemsIds(collect);
-        Map<Long, List<BookingDTO>> bookings = convertToMap(allBookingsOfItemsIds);
-        itemsByUser.forEach(e -> {
-            Optional<BookingDTO> currentBookingOfItem = getCurrentBooking(bookings.get(e.getId()));
-            getFutureBookingsOfItem(bookings.get(e.getId()))
-                    .ifPresent(bookingDTO -> e.setNextBooking(new BookingHistoryDto(bookingDTO.getId(), bookingDTO.getBooker().getId(), bookingDTO.getStart(), bookingDTO.getEnd())));
-            getPreviousBookingOfItem(bookings.get(e.getId()))
-                    .ifPresentOrElse(bookingDTO -> e.setLastBooking(new BookingHistoryDto(bookingDTO.getId(), bookingDTO.getBooker().getId(), bookingDTO.getStart(), bookingDTO.getEnd())),
-                            () -> currentBookingOfItem.ifPresent(bookingDTO -> e.setLastBooking(new BookingHistoryDto(currentBookingOfItem.get().getId(), currentBookingOfItem.get().getBooker().getId(), bookingDTO.getStart(), bookingDTO.getEnd()))));
-            e.setComments(commentsByItems.stream().filter(comment -> comment.getItem().getId().equals(e.getId())).map(commentMapper::toCommentDTO).collect(Collectors.toList()));
-        });
-        return itemsByUser;
-    }
-
-    private Map<Long, List<BookingDTO>> convertToMap(List<BookingDTO> list) {
-        Map<Long, List<BookingDTO>> bookings = new HashMap<>();
-        list.forEach(e -> {
-            if (bookings.get(e.getItem().getId()) == null) {
-                LinkedList<BookingDTO> bookingDTOS = new LinkedList<>();
-                bookingDTOS.add(e);
-                bookings.put(e.getItem().getId(), bookingDTOS);
-            } else {
-                bookings.get(e.getItem().getId()).add(e);
+        ItemEnrichmentEvent event = new ItemEnrichmentEvent();
+        event.begin();
+        long jdbcNanos = SqlRequestStats.currentJdbcNanos();
+        List<ItemCommentsDTO> itemsByUser = List.of();
+        try {
+            userRepository.findById(ownerId).orElseThrow(() ->
+                    new EntityNotFoundException(String.format("Пользователь с id %d не найден", ownerId)));
+
+            itemsByUser = itemRepository.findAllByOwnerId(ownerId, pageable)
+                    .stream()
+                    .map(itemMapper::toItemCommentDto)
+                    .collect(Collectors.toList());
+
+            itemBatchLoader.loadBookings(itemsByUser);
+            itemBatchLoader.loadComments(itemsByUser);
+            return itemsByUser;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setOwnerId(ownerId);
+                event.setResultSize(itemsByUser.size());
+                event.setDbTime(SqlRequestStats.currentJdbcNanos() - jdbcNanos);
+                event.commit();
             }
-        });
-        return bookings;
-    }
-
-    private Optional<BookingDTO> getCurrentBooking(List<BookingDTO> bookings) {
-        return bookings == null ? Optional.empty() :
-                bookings
-                        .stream()
-                        .filter(booking -> Status.APPROVED.equals(booking.getStatus()))
-                        .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()) && booking.getEnd().isAfter(LocalDateTime.now()))
-                        .max(Comparator.comparing(BookingDTO::getStart));
+        }
     }
 
-    private Optional<BookingDTO> getPreviousBookingOfItem(List<BookingDTO> bookings) {
-        return bookings == null ? Optional.empty() :
-                bookings
-                        .stream()
-                        .filter(e -> Status.APPROVED.equals(e.getStatus()))
-                        .filter(e -> e.getEnd().isBefore(LocalDateTime.now()))
-                        .max(Comparator.comparing(BookingDTO::getEnd));
-    }
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<ItemCommentsDTO> getItemsByUserIdAfter(Long ownerId, KeysetCursor after, int size) {
+        userRepository.findById(ownerId).orElseThrow(() ->
+                new EntityNotFoundException(String.format("Пользователь с id %d не найден", ownerId)));
 
-    private Optional<BookingDTO> getFutureBookingsOfItem(List<BookingDTO> bookings) {
-        return bookings == null ? Optional.empty() :
-                bookings
-                        .stream()
-                        .filter(e -> e.getStart().isAfter(LocalDateTime.now()))
-                        .min(Comparator.comparing(BookingDTO::getStart));
+        List<Item> items = itemRepository.findAllByOwnerIdAndIdGreaterThan(ownerId, after == null ? 0 : after.getId(),
+                PageRequest.of(0, size + 1, Sort.by("id")));
+        KeysetPage<ItemCommentsDTO> page = KeysetPage.of(items, size, item -> new KeysetCursor(null, item.getId()),
+                itemMapper::toItemCommentDto);
+        itemBatchLoader.loadBookings(page.getContent());
+        itemBatchLoader.loadComments(page.getContent());
+        return page;
     }
 
     @Transactional
@@ -128,7 +108,9 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemMapper.toItem(itemDto);
         item.setOwner(user);
         item.setRequest(itemDto.getRequestId() == null ? null : itemRequestRepository.findById(itemDto.getRequestId()).orElseThrow(() -> new EntityNotFoundException(String.format("Запрос id номером %d не найден", itemDto.getRequestId()))));
-        return itemMapper.toItemDTO(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchEngine.update(saved);
+        return itemMapper.toItemDTO(saved);
     }
 
     @Transactional
@@ -149,22 +131,49 @@ public class ItemServiceImpl implements ItemService {
         if (newItem.getAvailable() != null) {
             item.setAvailable(newItem.getAvailable());
         }
-        return itemMapper.toItemDTO(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchEngine.update(saved);
+        itemDetailsCache.evictDetails(itemId);
+        return itemMapper.toItemDTO(saved);
     }
 
     @Override
     public void removeItem(Long id) {
         itemRepository.deleteById(id);
+        itemSearchEngine.remove(id);
+        itemDetailsCache.evict(id);
+        bookingIntervalIndex.evict(id);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<ItemDTO> searchItemsByDescription(String keyword, PageRequest pageRequest) {
+    public Collection<ItemDTO> searchItemsByDescription(String keyword, Pageable pageable) {
         if (keyword.isBlank()) {
             return List.of();
         }
-        return itemRepository.findAllByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(keyword.toUpperCase(), pageRequest)
-                .stream().filter(Item::getAvailable)
-                .map(itemMapper::toItemDTO).collect(Collectors.toList());
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        long jdbcNanos = SqlRequestStats.currentJdbcNanos();
+        List<ItemDTO> found = List.of();
+        try {
+            found = itemSearchEngine.search(keyword, pageable)
+                    .stream()
+                    .map(itemMapper::toItemDTO).collect(Collectors.toList());
+            return found;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setEngine(ClassUtils.getUserClass(itemSearchEngine).getSimpleName());
+                event.setTextLength(keyword.length());
+                event.setResultSize(found.size());
+                event.setDbTime(SqlRequestStats.currentJdbcNanos() - jdbcNanos);
+                event.commit();
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportAll(OutputStream out) {
+        return ndjsonExporter.write(itemRepository.streamAll(), itemMapper::toItemDTO, out);
     }
 }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("ru.practicum.shareit.BookingCreate")
+@Label("Booking Create")
+@Category({"ShareIt", "Booking"})
+@Description("Создание бронирования: проверка пересечений и сохранение")
+@StackTrace(false)
+@Setter
+public class BookingCreateEvent extends Event {
+    @Label("Item Id")
+    private long itemId;
+
+    @Label("Booker Id")
+    private long bookerId;
+
+    @Label("Booking Id")
+    private long bookingId;
+
+    @Label("Candidate Bookings")
+    @Description("Активные бронирования вещи, с которыми сверялся новый период")
+    private int candidateBookings;
+
+    @Label("DB Time")
+    @Timespan
+    private long dbTime;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+}
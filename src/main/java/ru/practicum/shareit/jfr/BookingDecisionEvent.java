@@ -0,0 +1,34 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("ru.practicum.shareit.BookingDecision")
+@Label("Booking Approve Or Reject")
+@Category({"ShareIt", "Booking"})
+@Description("Подтверждение или отклонение бронирования владельцем")
+@StackTrace(false)
+@Setter
+public class BookingDecisionEvent extends Event {
+    @Label("Booking Id")
+    private long bookingId;
+
+    @Label("Item Id")
+    private long itemId;
+
+    @Label("Approved")
+    private boolean approved;
+
+    @Label("DB Time")
+    @Timespan
+    private long dbTime;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+}
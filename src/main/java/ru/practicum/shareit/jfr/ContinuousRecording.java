@@ -0,0 +1,59 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Непрерывная запись JFR с профилем jfr. Используются настройки JDK {@code default} (накладные расходы около 1%),
+ * данные хранятся на диске кольцевым буфером не дольше {@code shareit.jfr.max-age} и не больше
+ * {@code shareit.jfr.max-size}, поэтому после инцидента можно выгрузить то, что ему предшествовало.
+ */
+@Slf4j
+@Component
+@Profile("jfr")
+public class ContinuousRecording implements DisposableBean {
+    private final Recording recording;
+
+    public ContinuousRecording(@Value("${shareit.jfr.settings:default}") String settings,
+                               @Value("${shareit.jfr.max-age:30m}") Duration maxAge,
+                               @Value("${shareit.jfr.max-size:100MB}") DataSize maxSize) throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("shareit-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.enable(BookingCreateEvent.class);
+        recording.enable(BookingDecisionEvent.class);
+        recording.enable(ItemSearchEvent.class);
+        recording.enable(ItemEnrichmentEvent.class);
+        recording.start();
+        log.info("Запущена непрерывная запись JFR: настройки {}, не дольше {}, не больше {}", settings, maxAge, maxSize);
+    }
+
+    /**
+     * Сохраняет текущее содержимое буфера во временный файл, запись при этом продолжается.
+     * Удалить файл должен вызывающий.
+     */
+    public Path dump() throws IOException {
+        Path file = Files.createTempFile("shareit-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("ru.practicum.shareit.ItemEnrichment")
+@Label("Owner Items Enrichment")
+@Category({"ShareIt", "Item"})
+@Description("Страница вещей владельца с бронированиями и комментариями")
+@StackTrace(false)
+@Setter
+public class ItemEnrichmentEvent extends Event {
+    @Label("Owner Id")
+    private long ownerId;
+
+    @Label("Result Size")
+    private int resultSize;
+
+    @Label("DB Time")
+    @Timespan
+    private long dbTime;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("ru.practicum.shareit.ItemSearch")
+@Label("Item Search")
+@Category({"ShareIt", "Item"})
+@Description("Поиск доступных вещей по тексту")
+@StackTrace(false)
+@Setter
+public class ItemSearchEvent extends Event {
+    @Label("Engine")
+    private String engine;
+
+    @Label("Text Length")
+    private int textLength;
+
+    @Label("Result Size")
+    private int resultSize;
+
+    @Label("DB Time")
+    @Timespan
+    private long dbTime;
+}
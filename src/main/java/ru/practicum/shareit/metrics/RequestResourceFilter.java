@@ -0,0 +1,137 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.common.HeadersBeforeBodyResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Память, выделенная потоком обработки HTTP-запроса, и процессорное время этого потока по данным
+ * {@link ThreadMXBean}. Публикуются гистограммы shareit.request.allocated и shareit.request.cpu с тегом handler
+ * (класс и метод контроллера), по ним эндпоинты ранжируются по нагрузке на GC.
+ * При {@code shareit.metrics.resource-headers=true} значения отдаются в заголовках X-Allocated-Bytes и
+ * X-CPU-Time-Us; как и у X-SQL-*, в заголовки попадает только работа до начала записи тела.
+ * Работа других потоков (асинхронные задачи, пул JDBC) не учитывается.
+ */
+@Slf4j
+@Component
+public class RequestResourceFilter extends OncePerRequestFilter {
+    static final String ALLOCATED_METRIC = "shareit.request.allocated";
+    static final String CPU_METRIC = "shareit.request.cpu";
+    static final String ALLOCATED_HEADER = "X-Allocated-Bytes";
+    static final String CPU_HEADER = "X-CPU-Time-Us";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Реестр берётся через {@link ObjectProvider}: в срезах {@code @WebMvcTest} фильтр поднимается без метрик.
+     */
+    @Autowired
+    public RequestResourceFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${shareit.metrics.resource-headers:false}") boolean headers) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), headers);
+    }
+
+    RequestResourceFilter(MeterRegistry meterRegistry, boolean headers) {
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+        this.allocationBean = threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threadBean : null;
+        if (allocationBean == null || !threadBean.isCurrentThreadCpuTimeSupported()) {
+            log.warn("JVM не поддерживает учёт памяти или процессорного времени потока, метрики запросов будут неполными");
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Usage usage = new Usage();
+        HeadersBeforeBodyResponse wrapped = headers ? new HeadersBeforeBodyResponse(response, () -> Map.of(
+                ALLOCATED_HEADER, Long.toString(usage.allocatedBytes()),
+                CPU_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMicros(usage.cpuNanos())))) : null;
+        try {
+            chain.doFilter(request, wrapped != null ? wrapped : response);
+            if (wrapped != null) {
+                wrapped.writeHeaders();
+            }
+        } finally {
+            String handler = handlerOf(request);
+            long allocated = usage.allocatedBytes();
+            long cpu = usage.cpuNanos();
+            if (allocated >= 0) {
+                DistributionSummary.builder(ALLOCATED_METRIC)
+                        .description("Память, выделенная потоком за обработку HTTP-запроса")
+                        .baseUnit("bytes")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(allocated);
+            }
+            if (cpu >= 0) {
+                Timer.builder(CPU_METRIC)
+                        .description("Процессорное время потока за обработку HTTP-запроса")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(cpu, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static String handlerOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return handler == null ? "none" : "other";
+    }
+
+    /**
+     * Счётчики текущего потока на момент начала запроса; -1, если JVM их не предоставляет.
+     */
+    private class Usage {
+        private final long threadId = Thread.currentThread().getId();
+        private final long startAllocated = currentAllocated();
+        private final long startCpu = currentCpu();
+
+        long allocatedBytes() {
+            return startAllocated < 0 ? -1 : currentAllocated() - startAllocated;
+        }
+
+        long cpuNanos() {
+            return startCpu < 0 ? -1 : currentCpu() - startCpu;
+        }
+
+        private long currentAllocated() {
+            return allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) : -1;
+        }
+
+        private long currentCpu() {
+            return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+        }
+    }
+}
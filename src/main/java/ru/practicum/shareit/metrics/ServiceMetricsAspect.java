@@ -0,0 +1,74 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.comments.CommentService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+
+/**
+ * Таймер shareit.service с гистограммой для каждого публичного метода сервисов. Аспект выполняется снаружи
+ * транзакционного прокси, поэтому в замер попадает и фиксация транзакции.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    static final String METRIC = "shareit.service";
+
+    private static final List<Class<?>> SERVICES = List.of(BookingService.class, ItemService.class,
+            ItemRequestService.class, CommentService.class, UserService.class);
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Публичные методы сервисов; используется также трассировкой.
+     */
+    @Pointcut("execution(public * ru.practicum.shareit.booking.BookingService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.ItemService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.ItemRequestService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.comments.CommentService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.user.UserService+.*(..))")
+    public void services() {
+    }
+
+    @Around("services()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("service", serviceOf(joinPoint.getTarget().getClass()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String serviceOf(Class<?> type) {
+        return SERVICES.stream()
+                .filter(service -> service.isAssignableFrom(type))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(type.getSimpleName());
+    }
+}
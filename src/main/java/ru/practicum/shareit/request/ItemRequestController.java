@@ -1,12 +1,14 @@
 package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.OffsetBasedPageRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
@@ -31,8 +33,12 @@ public class ItemRequestController {
     @GetMapping
     public ResponseEntity<List<ItemRequestDtoResponse>> getPrivateRequests(@RequestHeader(userIdHeader) @Min(1) Long requestorId,
                                                                    @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-                                                                   @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size) {
-        PageRequest request = PageRequest.of(from / size, size).withSort(Sort.by("created").descending());
+                                                                   @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size,
+                                                                   @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            return itemRequestService.getPrivateRequestsAfter(requestorId, KeysetCursor.decode(after), size).toResponse();
+        }
+        Pageable request = OffsetBasedPageRequest.of(from, size, Sort.by("created").descending());
         List<ItemRequestDtoResponse> requestByUser = itemRequestService.getPrivateRequests(requestorId, request);
         return ResponseEntity.ok().body(requestByUser);
     }
@@ -41,8 +47,12 @@ public class ItemRequestController {
     public ResponseEntity<List<ItemRequestDtoResponse>> getOtherRequests(
             @RequestHeader(userIdHeader) @Min(1) Long requestorId,
             @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size) {
-        PageRequest request = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created"));
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) @Max(20) Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            return itemRequestService.getOtherRequestsAfter(requestorId, KeysetCursor.decode(after), size).toResponse();
+        }
+        Pageable request = OffsetBasedPageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"));
         List<ItemRequestDtoResponse> requestByUser = itemRequestService.getOtherRequests(requestorId, request);
         return ResponseEntity.ok().body(requestByUser);
     }
@@ -1,16 +1,32 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ItemRequestRepository extends PagingAndSortingRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequestorId(Pageable pageable, Long requesterId);
+    Slice<ItemRequest> findAllByRequestorId(Pageable pageable, Long requesterId);
 
-    List<ItemRequest> findAllByRequestorIdNot(Pageable pageable, Long requesterId);
+    Slice<ItemRequest> findAllByRequestorIdNot(Pageable pageable, Long requesterId);
+
+    @Query("select r from ItemRequest r where r.requestor.id = :requesterId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id))")
+    List<ItemRequest> findAllByRequestorIdBefore(Long requesterId, LocalDateTime created, Long id, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestor.id <> :requesterId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id))")
+    List<ItemRequest> findAllByRequestorIdNotBefore(Long requesterId, LocalDateTime created, Long id, Pageable pageable);
 
     Optional<ItemRequest> findById(Long id);
+
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
@@ -1,15 +1,21 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 
 import java.util.List;
 
 public interface ItemRequestService {
     ItemRequestDtoResponse createItemRequest(Long requesterId, ItemRequestDto itemRequestDto);
 
-    List<ItemRequestDtoResponse> getPrivateRequests(Long requesterId, PageRequest pageRequest);
+    List<ItemRequestDtoResponse> getPrivateRequests(Long requesterId, Pageable pageable);
 
-    List<ItemRequestDtoResponse> getOtherRequests(Long requesterId, PageRequest pageRequest);
+    List<ItemRequestDtoResponse> getOtherRequests(Long requesterId, Pageable pageable);
+
+    KeysetPage<ItemRequestDtoResponse> getPrivateRequestsAfter(Long requesterId, KeysetCursor after, int size);
+
+    KeysetPage<ItemRequestDtoResponse> getOtherRequestsAfter(Long requesterId, KeysetCursor after, int size);
 
     ItemRequestDtoResponse getItemRequest(Long userId, Long requestId);
 }
@@ -2,28 +2,33 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.item.ItemMapper;
-import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemBatchLoader;
+import ru.practicum.shareit.item.ItemDTO;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id"));
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
-    private final ItemMapper itemMapper;
     private final ItemRequestMapper itemRequestMapper;
+    private final ItemBatchLoader itemBatchLoader;
 
     @Override
     @Transactional
@@ -38,35 +43,67 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDtoResponse> getPrivateRequests(Long requesterId, PageRequest pageRequest) {
+    public List<ItemRequestDtoResponse> getPrivateRequests(Long requesterId, Pageable pageable) {
         if (!userRepository.existsById(requesterId)) {
             throw new EntityNotFoundException(String.format("Пользователь с id=%d не найден", requesterId));
         }
 
-        return setItemsAndMapToDto(itemRequestRepository.findAllByRequestorId(pageRequest, requesterId));
+        return setItemsAndMapToDto(itemRequestRepository.findAllByRequestorId(pageable, requesterId).getContent());
+    }
+
+    @Override
+    public List<ItemRequestDtoResponse> getOtherRequests(Long requesterId, Pageable pageable) {
+        if (!userRepository.existsById(requesterId)) {
+            throw new EntityNotFoundException(String.format("Пользователь с id=%d не найден", requesterId));
+        }
+
+        return setItemsAndMapToDto(itemRequestRepository.findAllByRequestorIdNot(pageable, requesterId).getContent());
+    }
+
+    @Override
+    public KeysetPage<ItemRequestDtoResponse> getPrivateRequestsAfter(Long requesterId, KeysetCursor after, int size) {
+        if (!userRepository.existsById(requesterId)) {
+            throw new EntityNotFoundException(String.format("Пользователь с id=%d не найден", requesterId));
+        }
+        PageRequest firstPage = PageRequest.of(0, size + 1, NEWEST_FIRST);
+        List<ItemRequest> requests = after == null
+                ? itemRequestRepository.findAllByRequestorId(firstPage, requesterId).getContent()
+                : itemRequestRepository.findAllByRequestorIdBefore(requesterId, after.requireKey(), after.getId(), firstPage);
+        return toKeysetPage(requests, size);
     }
 
     @Override
-    public List<ItemRequestDtoResponse> getOtherRequests(Long requesterId, PageRequest pageRequest) {
+    public KeysetPage<ItemRequestDtoResponse> getOtherRequestsAfter(Long requesterId, KeysetCursor after, int size) {
         if (!userRepository.existsById(requesterId)) {
             throw new EntityNotFoundException(String.format("Пользователь с id=%d не найден", requesterId));
         }
+        PageRequest firstPage = PageRequest.of(0, size + 1, NEWEST_FIRST);
+        List<ItemRequest> requests = after == null
+                ? itemRequestRepository.findAllByRequestorIdNot(firstPage, requesterId).getContent()
+                : itemRequestRepository.findAllByRequestorIdNotBefore(requesterId, after.requireKey(), after.getId(), firstPage);
+        return toKeysetPage(requests, size);
+    }
 
-        return setItemsAndMapToDto(itemRequestRepository.findAllByRequestorIdNot(pageRequest, requesterId));
+    private KeysetPage<ItemRequestDtoResponse> toKeysetPage(List<ItemRequest> requests, int size) {
+        KeysetPage<ItemRequestDtoResponse> page = KeysetPage.of(requests, size,
+                request -> new KeysetCursor(request.getCreated(), request.getId()),
+                itemRequestMapper::toItemRequestDtoResponse);
+        setItems(page.getContent());
+        return page;
     }
 
     private List<ItemRequestDtoResponse> setItemsAndMapToDto(List<ItemRequest> items) {
-        List<Item> allByRequestIdIn = itemRepository.findAllByRequestIdIn(items.stream().map(ItemRequest::getId).collect(Collectors.toList()));
-        return items
+        List<ItemRequestDtoResponse> requests = items
                 .stream()
                 .map(itemRequestMapper::toItemRequestDtoResponse)
-                .peek(e -> e.setItems(
-                        allByRequestIdIn.stream()
-                                .filter(item -> Objects.equals(item.getRequest().getId(), e.getId()))
-                                .map(itemMapper::toItemDTO)
-                                .collect(Collectors.toList())
-                ))
                 .collect(Collectors.toList());
+        setItems(requests);
+        return requests;
+    }
+
+    private void setItems(List<ItemRequestDtoResponse> requests) {
+        Map<Long, List<ItemDTO>> itemsByRequest = itemBatchLoader.loadItemsByRequestIds(requests.stream().map(ItemRequestDtoResponse::getId).collect(Collectors.toList()));
+        requests.forEach(e -> e.setItems(itemsByRequest.getOrDefault(e.getId(), new ArrayList<>())));
     }
 
     @Override
@@ -77,10 +114,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new EntityNotFoundException(String.format("Запроса с id = %d не найден", requestId)));
         ItemRequestDtoResponse itemRequestDtoResponse = itemRequestMapper.toItemRequestDtoResponse(itemRequest);
-        itemRequestDtoResponse.setItems(itemRepository.findAllByRequestId(requestId)
-                .stream()
-                .map(itemMapper::toItemDTO)
-                .collect(Collectors.toList()));
+        itemRequestDtoResponse.setItems(itemBatchLoader.loadItemsByRequestIds(List.of(requestId))
+                .getOrDefault(requestId, new ArrayList<>()));
         return itemRequestDtoResponse;
     }
 }
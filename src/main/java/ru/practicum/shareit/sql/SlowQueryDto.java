@@ -0,0 +1,16 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SlowQueryDto {
+    private String statement;
+    private long count;
+    private long maxMillis;
+    private long totalMillis;
+    private long rowsOfSlowest;
+    private String originOfSlowest;
+    private String parametersOfSlowest;
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Журнал медленного SQL вместо {@code spring.jpa.show-sql}. Выражение, выполнявшееся в JDBC дольше
+ * {@code shareit.sql.slow-query.threshold}, пишется в журнал этого класса с параметрами, числом строк, временем
+ * и вызвавшим методом сервиса; logback-spring.xml направляет журнал в отдельный файл через асинхронный аппендер.
+ * Для {@code shareit.sql.slow-query.top} самых медленных форм SQL хранится сводка для GET /admin/sql/slow.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements SqlStatementListener {
+    static final String REDACTED = "***";
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long thresholdNanos;
+    private final boolean redactParameters;
+    private final int top;
+    private final Map<String, SlowShape> shapes = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(@Value("${shareit.sql.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${shareit.sql.slow-query.redact-parameters:true}") boolean redactParameters,
+                        @Value("${shareit.sql.slow-query.top:20}") int top) {
+        this.thresholdNanos = threshold.toNanos();
+        this.redactParameters = redactParameters;
+        this.top = top;
+    }
+
+    @Override
+    public Execution beforeExecute(String sql) {
+        long started = System.nanoTime();
+        return new Execution() {
+            private long elapsed;
+            private String origin;
+
+            @Override
+            public void afterExecute(Throwable error) {
+                elapsed = System.nanoTime() - started;
+                if (sql != null && elapsed >= thresholdNanos) {
+                    origin = SqlRequestStats.origin();
+                }
+            }
+
+            @Override
+            public void completed(List<Object> parameters, long rows) {
+                if (origin != null) {
+                    record(sql, describe(parameters), rows, elapsed, origin);
+                }
+            }
+        };
+    }
+
+    /**
+     * Самые медленные формы SQL по максимальному времени выполнения.
+     */
+    public List<SlowQueryDto> slowest() {
+        return shapes.values().stream()
+                .map(SlowShape::snapshot)
+                .sorted(Comparator.comparingLong(SlowQueryDto::getMaxMillis).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Забывает накопленную сводку; журнал не затрагивается.
+     */
+    void clear() {
+        shapes.clear();
+    }
+
+    private void record(String sql, String parameters, long rows, long elapsed, String origin) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        log.warn("{} мс, {} строк, {}: {} параметры {}", millis, rows, origin, sql, parameters);
+        String shape = SqlRequestStats.shapeOf(sql);
+        shapes.computeIfAbsent(shape, SlowShape::new).add(elapsed, rows, origin, parameters);
+        if (shapes.size() > top * 10) {
+            shapes.values().stream()
+                    .min(Comparator.comparingLong(SlowShape::maxNanos))
+                    .ifPresent(fastest -> shapes.remove(fastest.shape, fastest));
+        }
+    }
+
+    private String describe(List<Object> parameters) {
+        return parameters.stream()
+                .map(value -> redactParameters && value != null ? REDACTED : valueOf(value))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String valueOf(Object value) {
+        if (value instanceof byte[]) {
+            return "<" + ((byte[]) value).length + " байт>";
+        }
+        if (value instanceof CharSequence) {
+            String text = value.toString();
+            return "'" + (text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "…" : text) + "'";
+        }
+        return String.valueOf(value);
+    }
+
+    private static class SlowShape {
+        private final String shape;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long rowsOfSlowest;
+        private String originOfSlowest;
+        private String parametersOfSlowest;
+
+        SlowShape(String shape) {
+            this.shape = shape;
+        }
+
+        synchronized void add(long elapsed, long rows, String origin, String parameters) {
+            count++;
+            totalNanos += elapsed;
+            if (elapsed >= maxNanos) {
+                maxNanos = elapsed;
+                rowsOfSlowest = rows;
+                originOfSlowest = origin;
+                parametersOfSlowest = parameters;
+            }
+        }
+
+        synchronized long maxNanos() {
+            return maxNanos;
+        }
+
+        synchronized SlowQueryDto snapshot() {
+            return new SlowQueryDto(shape, count, TimeUnit.NANOSECONDS.toMillis(maxNanos),
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos), rowsOfSlowest, originOfSlowest, parametersOfSlowest);
+        }
+    }
+}
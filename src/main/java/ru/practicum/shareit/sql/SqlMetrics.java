@@ -0,0 +1,39 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Итоги {@link SqlTotals} в виде счётчиков Micrometer.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlMetrics implements MeterBinder {
+    private final SqlStatsFilter sqlStatsFilter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SqlTotals totals = sqlStatsFilter.totals();
+        FunctionCounter.builder("shareit.sql.requests", totals, SqlTotals::requests)
+                .description("HTTP-запросы, в которых учитывался SQL")
+                .register(registry);
+        FunctionCounter.builder("shareit.sql.statements", totals, SqlTotals::statements)
+                .description("Выполненные выражения SQL")
+                .register(registry);
+        FunctionCounter.builder("shareit.sql.rows", totals, SqlTotals::rows)
+                .description("Прочитанные и изменённые строки")
+                .register(registry);
+        FunctionCounter.builder("shareit.sql.time", totals, t -> t.nanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("Время выполнения SQL в JDBC")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("shareit.sql.repeated.statements", totals, SqlTotals::repeatedShapes)
+                .description("Предупреждения о повторяющемся SQL одной формы")
+                .register(registry);
+    }
+}
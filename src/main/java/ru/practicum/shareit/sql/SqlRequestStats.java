@@ -0,0 +1,140 @@
+package ru.practicum.shareit.sql;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQL, выполненный в рамках одного HTTP-запроса: число выражений, прочитанных и изменённых строк и время в JDBC.
+ * Выражения одной формы, повторившиеся больше порога, — признак N+1: о них пишется предупреждение
+ * с методом приложения, из которого пришёл повтор.
+ */
+@Slf4j
+public class SqlRequestStats {
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final String OWN_PACKAGE = SqlRequestStats.class.getPackageName() + ".";
+
+    private final String request;
+    private final int repeatedStatementThreshold;
+    private final Map<String, Integer> statementsByShape = new HashMap<>();
+    private long statements;
+    private long rows;
+    private long nanos;
+    private int repeatedShapes;
+
+    SqlRequestStats(String request, int repeatedStatementThreshold) {
+        this.request = request;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    public static SqlRequestStats begin(String request, int repeatedStatementThreshold) {
+        SqlRequestStats stats = new SqlRequestStats(request, repeatedStatementThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static Optional<SqlRequestStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Время в JDBC, накопленное текущим HTTP-запросом к этому моменту, или 0 вне HTTP-запроса.
+     * Разность двух значений даёт время SQL участка кода.
+     */
+    public static long currentJdbcNanos() {
+        SqlRequestStats stats = CURRENT.get();
+        return stats == null ? 0 : stats.nanos;
+    }
+
+    void statement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        int count = statementsByShape.merge(shape, 1, Integer::sum);
+        if (count == repeatedStatementThreshold + 1) {
+            repeatedShapes++;
+            log.warn("{}: один и тот же SQL выполнен больше {} раз, вызов из {}: {}",
+                    request, repeatedStatementThreshold, origin(), shape);
+        }
+    }
+
+    /**
+     * Форма выражения: пробелы схлопнуты, списки параметров IN любой длины сведены к одному.
+     */
+    static String shapeOf(String sql) {
+        return PARAMETER_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?)");
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Число форм SQL, превысивших порог повторов в этом запросе.
+     */
+    public int getRepeatedShapes() {
+        return repeatedShapes;
+    }
+
+    /**
+     * Ближайший к JDBC метод сервиса, а если он не ближайший метод приложения — ещё и тот метод,
+     * где выполнялся запрос (обычно маппер, обращающийся к ленивой связи).
+     */
+    static String origin() {
+        List<StackWalker.StackFrame> frames = StackWalker.getInstance().walk(stream -> stream
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(OWN_PACKAGE)
+                        && !frame.getClassName().contains("$$")
+                        && !frame.getClassName().contains("$HibernateProxy$"))
+                .collect(Collectors.toList()));
+        if (frames.isEmpty()) {
+            return "неизвестно";
+        }
+        StackWalker.StackFrame nearest = frames.get(0);
+        return frames.stream()
+                .filter(frame -> simpleName(frame).contains("Service"))
+                .findFirst()
+                .map(service -> service == nearest ? describe(service) : describe(service) + " <- " + describe(nearest))
+                .orElse(describe(nearest));
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        return simpleName(frame) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+
+    private static String simpleName(StackWalker.StackFrame frame) {
+        return frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.sql;
+
+import java.util.List;
+
+/**
+ * Наблюдатель за выполнением выражений SQL через {@link SqlStatsDataSource}. Вызывается для всего SQL приложения,
+ * в том числе вне HTTP-запросов, в потоке, который выполняет выражение.
+ */
+public interface SqlStatementListener {
+
+    /**
+     * Вызывается перед выполнением выражения; {@code sql} равен null у пакета обычных {@link java.sql.Statement}.
+     */
+    Execution beforeExecute(String sql);
+
+    interface Execution {
+        /**
+         * Вызывается после выполнения выражения; {@code error} равен null, если оно выполнилось успешно.
+         */
+        void afterExecute(Throwable error);
+
+        /**
+         * Вызывается, когда выражение закрывается или выполняется снова. {@code rows} — строки, изменённые
+         * выражением или прочитанные из его результата; {@code parameters} — значения параметров по порядку
+         * (у пакета — последней строки), список действителен только во время вызова.
+         */
+        default void completed(List<Object> parameters, long rows) {
+        }
+    }
+}
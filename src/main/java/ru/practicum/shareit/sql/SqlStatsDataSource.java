@@ -0,0 +1,233 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Обёртка пула соединений, которая учитывает выполненные выражения, их время и число строк
+ * в {@link SqlRequestStats} текущего HTTP-запроса. Вне HTTP-запроса обращения передаются пулу без учёта.
+ * О каждом выполнении выражения также уведомляются {@link SqlStatementListener}.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource implements Closeable {
+    private final List<SqlStatementListener> listeners;
+
+    public SqlStatsDataSource(DataSource targetDataSource) {
+        this(targetDataSource, List.of());
+    }
+
+    public SqlStatsDataSource(DataSource targetDataSource, List<SqlStatementListener> listeners) {
+        super(targetDataSource);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection(), listeners));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection(username, password), listeners));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable) {
+            ((Closeable) obtainTargetDataSource()).close();
+        }
+    }
+
+    private static <T> T wrap(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends Handler {
+        private final List<SqlStatementListener> listeners;
+
+        ConnectionHandler(Connection target, List<SqlStatementListener> listeners) {
+            super(target);
+            this.listeners = listeners;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if (result instanceof CallableStatement) {
+                return wrap(CallableStatement.class, new StatementHandler(result, (String) args[0], listeners));
+            }
+            if (result instanceof PreparedStatement) {
+                return wrap(PreparedStatement.class, new StatementHandler(result, (String) args[0], listeners));
+            }
+            if (result instanceof Statement) {
+                return wrap(Statement.class, new StatementHandler(result, null, listeners));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler extends Handler {
+        private final String preparedSql;
+        private final List<SqlStatementListener> listeners;
+        private final List<Object> parameters = new ArrayList<>();
+        private List<SqlStatementListener.Execution> pending = List.of();
+        private long pendingRows;
+
+        StatementHandler(Object target, String preparedSql, List<SqlStatementListener> listeners) {
+            super(target);
+            this.preparedSql = preparedSql;
+            this.listeners = listeners;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!listeners.isEmpty()) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameter((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+                } else if ("clearParameters".equals(name)) {
+                    parameters.clear();
+                } else if ("close".equals(name)) {
+                    complete();
+                }
+            }
+            SqlRequestStats stats = SqlRequestStats.current().orElse(null);
+            if (!name.startsWith("execute")) {
+                return wrapResultSet(call(method, args), stats);
+            }
+            if (stats == null && listeners.isEmpty()) {
+                return call(method, args);
+            }
+            complete();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            List<SqlStatementListener.Execution> executions = beforeExecute(sql);
+            long started = System.nanoTime();
+            Object result;
+            try {
+                result = call(method, args);
+            } catch (Throwable e) {
+                afterExecute(executions, e);
+                throw e;
+            }
+            afterExecute(executions, null);
+            pending = executions;
+            if (stats != null) {
+                stats.statement(sql, System.nanoTime() - started);
+            }
+            if (result instanceof Integer && !"execute".equals(name)) {
+                rows(stats, Math.max(0, (Integer) result));
+            } else if (result instanceof Long) {
+                rows(stats, Math.max(0, (Long) result));
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows(stats, Math.max(0, count));
+                }
+            }
+            return wrapResultSet(result, stats);
+        }
+
+        private void parameter(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+
+        private void rows(SqlRequestStats stats, long count) {
+            if (stats != null) {
+                stats.rows(count);
+            }
+            pendingRows += count;
+        }
+
+        private List<SqlStatementListener.Execution> beforeExecute(String sql) {
+            List<SqlStatementListener.Execution> executions = new ArrayList<>(listeners.size());
+            for (SqlStatementListener listener : listeners) {
+                executions.add(listener.beforeExecute(sql));
+            }
+            return executions;
+        }
+
+        private static void afterExecute(List<SqlStatementListener.Execution> executions, Throwable error) {
+            for (int i = executions.size() - 1; i >= 0; i--) {
+                executions.get(i).afterExecute(error);
+            }
+        }
+
+        /**
+         * Сообщает наблюдателям итог предыдущего выполнения: к этому моменту его результат уже прочитан.
+         */
+        private void complete() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Object> values = Collections.unmodifiableList(parameters);
+            for (SqlStatementListener.Execution execution : pending) {
+                execution.completed(values, pendingRows);
+            }
+            pending = List.of();
+            pendingRows = 0;
+        }
+
+        private Object wrapResultSet(Object result, SqlRequestStats stats) {
+            if (!(result instanceof ResultSet) || (stats == null && pending.isEmpty())) {
+                return result;
+            }
+            return wrap(ResultSet.class, new Handler(result) {
+                @Override
+                Object handle(Method method, Object[] args) throws Throwable {
+                    Object next = call(method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(next)) {
+                        rows(stats, 1);
+                    }
+                    return next;
+                }
+            });
+        }
+    }
+}
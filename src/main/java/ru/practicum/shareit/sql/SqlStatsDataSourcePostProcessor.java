@@ -0,0 +1,26 @@
+package ru.practicum.shareit.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.stream.Collectors;
+
+/**
+ * Оборачивает пул соединений в {@link SqlStatsDataSource}, чтобы весь SQL приложения проходил через учёт.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SqlStatementListener> listeners;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof SqlStatsDataSource)) {
+            return new SqlStatsDataSource((DataSource) bean, listeners.orderedStream().collect(Collectors.toList()));
+        }
+        return bean;
+    }
+}
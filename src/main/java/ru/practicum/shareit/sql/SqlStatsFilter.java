@@ -0,0 +1,64 @@
+package ru.practicum.shareit.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.common.HeadersBeforeBodyResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Собирает {@link SqlRequestStats} на время обработки HTTP-запроса и добавляет их в итоги.
+ * При {@code shareit.sql.headers=true} значения отдаются в заголовках ответа X-SQL-Count, X-SQL-Rows и
+ * X-SQL-Time-Ms. Заголовки выставляются перед записью тела, поэтому у потоковых выгрузок в них попадает только
+ * SQL до начала выгрузки.
+ */
+@Slf4j
+@Component
+public class SqlStatsFilter extends OncePerRequestFilter {
+    static final String COUNT_HEADER = "X-SQL-Count";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final boolean headers;
+    private final int repeatedStatementThreshold;
+    private final SqlTotals totals = new SqlTotals();
+
+    public SqlStatsFilter(@Value("${shareit.sql.headers:false}") boolean headers,
+                          @Value("${shareit.sql.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        this.headers = headers;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    public SqlTotals totals() {
+        return totals;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin(request.getMethod() + " " + request.getRequestURI(),
+                repeatedStatementThreshold);
+        HeadersBeforeBodyResponse wrapped = headers ? new HeadersBeforeBodyResponse(response, () -> Map.of(
+                COUNT_HEADER, Long.toString(stats.getStatements()),
+                ROWS_HEADER, Long.toString(stats.getRows()),
+                TIME_HEADER, Long.toString(stats.getMillis()))) : null;
+        try {
+            chain.doFilter(request, wrapped != null ? wrapped : response);
+            if (wrapped != null) {
+                wrapped.writeHeaders();
+            }
+        } finally {
+            SqlRequestStats.end();
+            totals.add(stats);
+            log.debug("{} {}: {} выражений SQL, {} строк, {} мс", request.getMethod(), request.getRequestURI(),
+                    stats.getStatements(), stats.getRows(), stats.getMillis());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.sql;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Накопленные с запуска приложения итоги по SQL всех HTTP-запросов.
+ */
+public class SqlTotals {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder repeatedShapes = new LongAdder();
+
+    void add(SqlRequestStats stats) {
+        requests.increment();
+        statements.add(stats.getStatements());
+        rows.add(stats.getRows());
+        nanos.add(stats.getNanos());
+        repeatedShapes.add(stats.getRepeatedShapes());
+    }
+
+    public SqlTotalsDto snapshot() {
+        long requestCount = requests.sum();
+        long statementCount = statements.sum();
+        return new SqlTotalsDto(requestCount, statementCount, rows.sum(), TimeUnit.NANOSECONDS.toMillis(nanos.sum()),
+                requestCount == 0 ? 0 : (double) statementCount / requestCount, repeatedShapes.sum());
+    }
+
+    double requests() {
+        return requests.sum();
+    }
+
+    double statements() {
+        return statements.sum();
+    }
+
+    double rows() {
+        return rows.sum();
+    }
+
+    double nanos() {
+        return nanos.sum();
+    }
+
+    double repeatedShapes() {
+        return repeatedShapes.sum();
+    }
+}
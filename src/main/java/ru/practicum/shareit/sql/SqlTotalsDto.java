@@ -0,0 +1,15 @@
+package ru.practicum.shareit.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SqlTotalsDto {
+    private long requests;
+    private long statements;
+    private long rows;
+    private long jdbcMillis;
+    private double statementsPerRequest;
+    private long repeatedStatementWarnings;
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.sql.SqlStatementListener;
+
+import java.util.Locale;
+
+/**
+ * Спан на каждое выражение JDBC внутри начатой трассы. В атрибут db.statement попадает текст выражения
+ * с параметрами-заполнителями, значения параметров не записываются.
+ */
+@Component
+@Profile("tracing")
+@RequiredArgsConstructor
+public class JdbcTracingListener implements SqlStatementListener {
+    private static final Execution UNTRACED = error -> {
+    };
+
+    private final Tracing tracing;
+
+    @Override
+    public Execution beforeExecute(String sql) {
+        if (!Span.current().getSpanContext().isValid()) {
+            return UNTRACED;
+        }
+        Span span = tracing.tracer().spanBuilder(operationOf(sql))
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("db.statement", sql == null ? "batch" : sql)
+                .startSpan();
+        return error -> {
+            if (error != null) {
+                span.recordException(error);
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        };
+    }
+
+    private static String operationOf(String sql) {
+        if (sql == null) {
+            return "JDBC batch";
+        }
+        String trimmed = sql.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "JDBC" : "JDBC " + trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+}
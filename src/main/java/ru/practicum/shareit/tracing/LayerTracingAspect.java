@@ -0,0 +1,66 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Дочерние спаны для методов сервисов и репозиториев Spring Data. Спаны создаются только внутри уже начатой
+ * трассы, поэтому фоновые задачи вне HTTP-запросов трасс не порождают. Аспект выполняется внутри замера
+ * {@link ru.practicum.shareit.metrics.ServiceMetricsAspect}, но снаружи транзакционного прокси.
+ */
+@Aspect
+@Component
+@Profile("tracing")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class LayerTracingAspect {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+
+    private final Tracing tracing;
+
+    @Around("ru.practicum.shareit.metrics.ServiceMetricsAspect.services()"
+            + " || execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Span.current().getSpanContext().isValid()) {
+            return joinPoint.proceed();
+        }
+        Span span = tracing.tracer()
+                .spanBuilder(componentOf(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Репозитории Spring Data — JDK-прокси, их имя берётся из интерфейса приложения.
+     */
+    private static String componentOf(Object target) {
+        if (Proxy.isProxyClass(target.getClass())) {
+            for (Class<?> type : target.getClass().getInterfaces()) {
+                if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * SDK OpenTelemetry с профилем tracing. Экспортёр OTLP-JSON пишет спаны пачки одной строкой ResourceSpans
+ * в журнал java.util.logging, а журнал направлен в локальные файлы, которые перезаписываются по кругу:
+ * коллектор не нужен, файлы читаются любым инструментом с поддержкой OTLP-JSON.
+ */
+@Slf4j
+@Component
+@Profile("tracing")
+public class Tracing implements DisposableBean {
+    private static final String INSTRUMENTATION = "ru.practicum.shareit";
+
+    private final Logger exporterLogger = Logger.getLogger(OtlpJsonLoggingSpanExporter.class.getName());
+    private final FileHandler fileHandler;
+    private final SdkTracerProvider tracerProvider;
+    private final Tracer tracer;
+
+    public Tracing(@Value("${shareit.tracing.file:traces/shareit-spans.%g.jsonl}") String file,
+                   @Value("${shareit.tracing.file-limit:50MB}") DataSize fileLimit,
+                   @Value("${shareit.tracing.file-count:5}") int fileCount,
+                   @Value("${shareit.tracing.sample-ratio:1.0}") double sampleRatio) throws IOException {
+        Path parent = Path.of(file).toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        fileHandler = new FileHandler(file, (int) Math.min(Integer.MAX_VALUE, fileLimit.toBytes()), fileCount, true);
+        fileHandler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+        exporterLogger.setUseParentHandlers(false);
+        exporterLogger.setLevel(Level.INFO);
+        exporterLogger.addHandler(fileHandler);
+
+        tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), "shareit"))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(sampleRatio)))
+                .addSpanProcessor(BatchSpanProcessor.builder(OtlpJsonLoggingSpanExporter.create()).build())
+                .build();
+        tracer = tracerProvider.get(INSTRUMENTATION);
+        log.info("Трассировка включена: спаны пишутся в {}, доля трасс {}", file, sampleRatio);
+    }
+
+    public Tracer tracer() {
+        return tracer;
+    }
+
+    public TextMapPropagator propagator() {
+        return W3CTraceContextPropagator.getInstance();
+    }
+
+    /**
+     * Дописывает в файл спаны, ещё не выгруженные из очереди экспортёра.
+     */
+    public void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        tracerProvider.close();
+        exporterLogger.removeHandler(fileHandler);
+        fileHandler.close();
+    }
+}
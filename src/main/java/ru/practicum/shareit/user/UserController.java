@@ -2,8 +2,14 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exports.NdjsonExporter;
+import ru.practicum.shareit.imports.ImportFormat;
+import ru.practicum.shareit.imports.ImportReport;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 
 @RestController
@@ -11,6 +17,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping("{id}")
     public UserDTO getUserById(@PathVariable Long id) {
@@ -22,11 +29,27 @@ public class UserController {
         return userService.getAll();
     }
 
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        userService.exportAll(response.getOutputStream());
+    }
+
     @PostMapping
     public UserDTO create(@Valid @RequestBody UserDTO userDto) {
         return userService.add(userDto);
     }
 
+    @PostMapping(path = "/import", consumes = ImportFormat.CSV_MEDIA_TYPE)
+    public ImportReport importCsv(InputStream body) {
+        return userImportService.importUsers(body, ImportFormat.CSV);
+    }
+
+    @PostMapping(path = "/import", consumes = ImportFormat.NDJSON_MEDIA_TYPE)
+    public ImportReport importNdjson(InputStream body) {
+        return userImportService.importUsers(body, ImportFormat.NDJSON);
+    }
+
     @PatchMapping("/{userId}")
     public UserDTO update(@RequestBody UserDTO userDto,
                           @PathVariable Long userId) {
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.imports.BulkImporter;
+import ru.practicum.shareit.imports.ImportChunkWriter;
+import ru.practicum.shareit.imports.ImportFormat;
+import ru.practicum.shareit.imports.ImportReport;
+import ru.practicum.shareit.imports.ImportRow;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Массовое создание пользователей. Email проверяется на уникальность одним запросом на пакет
+ * и внутри самого пакета, чтобы нарушение ограничения не откатывало пакет целиком.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+    private final BulkImporter bulkImporter;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+
+    public ImportReport importUsers(InputStream body, ImportFormat format) {
+        return bulkImporter.run(body, format, UserDTO.class, new Writer());
+    }
+
+    private class Writer implements ImportChunkWriter<UserDTO> {
+        @Override
+        public List<ImportRow<UserDTO>> resolve(List<ImportRow<UserDTO>> rows, ImportReport report) {
+            Set<String> taken = new HashSet<>(userRepository.findExistingEmails(rows.stream()
+                    .map(row -> row.getValue().getEmail())
+                    .collect(Collectors.toSet())));
+            List<ImportRow<UserDTO>> resolved = new ArrayList<>(rows.size());
+            for (ImportRow<UserDTO> row : rows) {
+                if (taken.add(row.getValue().getEmail())) {
+                    resolved.add(row);
+                } else {
+                    report.reject(row.getNumber(), String.format("Email %s уже используется", row.getValue().getEmail()));
+                }
+            }
+            return resolved;
+        }
+
+        @Override
+        public void save(List<ImportRow<UserDTO>> rows) {
+            userRepository.saveAll(rows.stream()
+                    .map(row -> {
+                        User user = userMapper.toUser(row.getValue());
+                        user.setId(null);
+                        return user;
+                    })
+                    .collect(Collectors.toList()));
+        }
+    }
+}
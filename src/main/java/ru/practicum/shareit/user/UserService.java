@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.UserDTO;
 
+import java.io.OutputStream;
 import java.util.Collection;
 
 public interface UserService {
@@ -14,4 +15,6 @@ public interface UserService {
     UserDTO patch(UserDTO userDto, Long id);
 
     void delete(Long id);
+
+    long exportAll(OutputStream out);
 }
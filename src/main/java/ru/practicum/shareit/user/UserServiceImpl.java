@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exports.NdjsonExporter;
 
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
@@ -16,6 +18,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final NdjsonExporter ndjsonExporter;
+
     @Transactional(readOnly = true)
     @Override
     public UserDTO getUserById(Long id) {
@@ -58,4 +62,10 @@ public class UserServiceImpl implements UserService {
     public void delete(Long id) {
         userRepository.deleteById(id);
     }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportAll(OutputStream out) {
+        return ndjsonExporter.write(userRepository.streamAll(), userMapper::toUserDTO, out);
+    }
 }
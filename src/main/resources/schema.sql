@@ -3,10 +3,22 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
+DROP TABLE IF EXISTS item_booking_pointers CASCADE;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id    int          NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id    int          NOT NULL PRIMARY KEY,
     name  varchar(200) NOT NULL,
     email varchar(200) NOT NULL,
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
@@ -14,7 +26,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           int          NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id           int          NOT NULL PRIMARY KEY,
     description  varchar(200) NOT NULL,
     requestor_id int          NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -23,7 +35,7 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id           int          NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id           int          NOT NULL PRIMARY KEY,
     name         varchar(200) NOT NULL,
     description  varchar(200) NOT NULL,
     is_available boolean      NOT NULL,
@@ -35,7 +47,7 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         int                         NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id         int                         NOT NULL PRIMARY KEY,
     start_date timestamp without time zone not null,
     end_date   timestamp without time zone not null,
     item_id    int,
@@ -47,7 +59,7 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        int          NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id        int          NOT NULL PRIMARY KEY,
     text      varchar(300) NOT NULL,
     item_id   int NOT NULL,
     created   timestamp without time zone not null,
@@ -56,5 +68,31 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT comment_author_id FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS item_booking_pointers
+(
+    item_id         int NOT NULL PRIMARY KEY,
+    last_booking_id int,
+    next_booking_id int,
+    current_booking_end TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT item_booking_pointers_item_id FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    CONSTRAINT item_booking_pointers_last_booking_id FOREIGN KEY (last_booking_id) REFERENCES bookings (id) ON DELETE SET NULL,
+    CONSTRAINT item_booking_pointers_next_booking_id FOREIGN KEY (next_booking_id) REFERENCES bookings (id) ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS requests_requestor_id_created_idx ON requests (requestor_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_date_idx ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_date_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
 
+CREATE INDEX IF NOT EXISTS item_booking_pointers_next_booking_id_idx ON item_booking_pointers (next_booking_id);
 
+CREATE INDEX IF NOT EXISTS item_booking_pointers_current_booking_end_idx ON item_booking_pointers (current_booking_end);
@@ -0,0 +1,179 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.comments.CommentRepository;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.sql.ParameterMetaData;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет, что запросы репозиториев на заполненной базе используют индексы, а не полный просмотр таблиц.
+ * План строится командой EXPLAIN H2 для каждого SQL, который Hibernate отправил при вызове метода.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.RecordingStatementInspector")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanTest {
+    private static final int USERS = 50;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int BOOKINGS_PER_ITEM = 4;
+    private static final int REQUESTS = 200;
+    private static final List<Status> ACTIVE = List.of(Status.APPROVED, Status.WAITING);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final Pageable page = PageRequest.of(0, 10, Sort.by("start").descending());
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    public void seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            users.add(new Object[]{u, "user" + u, "user" + u + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int r = 1; r <= REQUESTS; r++) {
+            requests.add(new Object[]{r, "request" + r, r % USERS + 1, Timestamp.valueOf(now.minusHours(r))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", requests);
+
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        int itemId = 0;
+        int bookingId = 0;
+        for (int u = 1; u <= USERS; u++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                items.add(new Object[]{itemId, "item" + itemId, "description", true, u, itemId % 5 == 0 ? itemId % REQUESTS + 1 : null});
+                comments.add(new Object[]{itemId, "comment", itemId, Timestamp.valueOf(now), itemId % USERS + 1});
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    bookingId++;
+                    LocalDateTime start = now.plusDays(b * 2L - 3);
+                    bookings.add(new Object[]{bookingId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                            itemId, (itemId + b) % USERS + 1, Status.values()[b % Status.values().length].name()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, created, author_id) VALUES (?, ?, ?, ?, ?)", comments);
+        RecordingStatementInspector.drain();
+    }
+
+    @Test
+    public void bookingQueriesUseIndexesTest() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByBookerIdAndStatusIn", () -> bookingRepository.findByBookerIdAndStatusIn(1, ACTIVE, page));
+        queries.put("findByBookerIdAndStartBeforeAndEndAfter", () -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(1, now, now, page));
+        queries.put("findByBookerIdAndStatusInAndStartAfter", () -> bookingRepository.findByBookerIdAndStatusInAndStartAfter(1, ACTIVE, now, page));
+        queries.put("findByBookerIdAndStatusInAndEndBefore", () -> bookingRepository.findByBookerIdAndStatusInAndEndBefore(1, ACTIVE, now, page));
+        queries.put("findAllByBookerId", () -> bookingRepository.findAllByBookerId(1, page));
+        queries.put("findAllByItemOwnerId", () -> bookingRepository.findAllByItemOwnerId(1, page));
+        queries.put("findAllByItemOwnerIdAndStatusIn", () -> bookingRepository.findAllByItemOwnerIdAndStatusIn(1, ACTIVE, page));
+        queries.put("findAllByItemOwnerIdAndStatusInAndStartBeforeAndEndAfter", () -> bookingRepository.findAllByItemOwnerIdAndStatusInAndStartBeforeAndEndAfter(1, ACTIVE, now, now, page));
+        queries.put("findAllByItemOwnerIdAndStatusInAndStartAfter", () -> bookingRepository.findAllByItemOwnerIdAndStatusInAndStartAfter(1, ACTIVE, now, page));
+        queries.put("findAllByItemOwnerIdAndStatusInAndEndBefore", () -> bookingRepository.findAllByItemOwnerIdAndStatusInAndEndBefore(1, ACTIVE, now, page));
+        queries.put("streamAllByItemOwnerId", () -> bookingRepository.streamAllByItemOwnerId(1).close());
+        queries.put("findAllByItemIdInAndStatusIn", () -> bookingRepository.findAllByItemIdInAndStatusIn(List.of(1L, 2L), ACTIVE));
+        queries.put("findAllByItemIdAndStatusIn", () -> bookingRepository.findAllByItemIdAndStatusIn(1, ACTIVE));
+        queries.put("findByItemIdAndStatusAndEndBeforeOrderByEndDesc", () -> bookingRepository.findByItemIdAndStatusAndEndBeforeOrderByEndDesc(1, Status.APPROVED, now, PageRequest.of(0, 1)));
+        queries.put("findByItemIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc", () -> bookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(1, Status.APPROVED, now, now, PageRequest.of(0, 1)));
+        queries.put("findByItemIdAndStatusInAndStartAfterOrderByStartAsc", () -> bookingRepository.findByItemIdAndStatusInAndStartAfterOrderByStartAsc(1, ACTIVE, now, PageRequest.of(0, 1)));
+        queries.put("findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc", () -> bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(1, ACTIVE, now));
+        queries.put("findPage", () -> bookingRepository.findPage((root, query, builder) ->
+                builder.equal(root.get("booker").get("id"), 1L), new KeysetCursor(now, 100), 10));
+        assertUseIndexes(queries);
+    }
+
+    @Test
+    public void itemQueriesUseIndexesTest() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllByOwnerId", () -> itemRepository.findAllByOwnerId(1, PageRequest.of(0, 10, Sort.by("id"))));
+        queries.put("findAllByOwnerIdAndIdGreaterThan", () -> itemRepository.findAllByOwnerIdAndIdGreaterThan(1, 3, PageRequest.of(0, 10, Sort.by("id"))));
+        queries.put("findAllByRequestIdIn", () -> itemRepository.findAllByRequestIdIn(List.of(1L, 2L)));
+        assertUseIndexes(queries);
+    }
+
+    @Test
+    public void commentAndRequestQueriesUseIndexesTest() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllByItemId", () -> commentRepository.findAllByItemId(1L));
+        queries.put("findAllByItemIdIn", () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L)));
+        queries.put("findAllByRequestorId", () -> itemRequestRepository.findAllByRequestorId(
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id"))), 1L));
+        queries.put("findAllByRequestorIdBefore", () -> itemRequestRepository.findAllByRequestorIdBefore(1L, now, 100L,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id")))));
+        assertUseIndexes(queries);
+    }
+
+    private void assertUseIndexes(Map<String, Runnable> queries) {
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            query.run();
+            for (String sql : RecordingStatementInspector.drain()) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    failures.add(name + ":\n" + plan);
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), () -> "Полный просмотр таблицы в планах:\n" + String.join("\n\n", failures));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                statement.setObject(i, sampleOf(parameters.getParameterType(i)));
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+
+    /**
+     * NULL в параметре H2 сворачивает условие в FALSE и строит вырожденный план, поэтому подставляется значение нужного типа.
+     */
+    private Object sampleOf(int sqlType) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(now);
+            case Types.VARCHAR:
+            case Types.CHAR:
+                return Status.WAITING.name();
+            default:
+                return 1L;
+        }
+    }
+}
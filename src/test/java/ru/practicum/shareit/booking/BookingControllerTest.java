@@ -8,19 +8,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.common.KeysetPage;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectAvailableException;
 import ru.practicum.shareit.exceptions.IncorrectOwnerException;
 import ru.practicum.shareit.exceptions.IncorrectTimeException;
+import ru.practicum.shareit.exports.NdjsonExporter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -168,5 +178,57 @@ public class BookingControllerTest {
                         .header(X_SHARER_USER_ID, USER_ID))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    @SneakyThrows
+    public void getAllUserBookingsByCursor() {
+        KeysetCursor next = new KeysetCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 7L);
+        when(bookingService.getBookingsOfCurrentUserAfter(eq(State.ALL), eq(USER_ID), isNull(), eq(1)))
+                .thenReturn(new KeysetPage<>(List.of(new BookingDTO()), next));
+        when(bookingService.getBookingsOfCurrentUserAfter(eq(State.ALL), eq(USER_ID), eq(next), eq(1)))
+                .thenReturn(new KeysetPage<>(List.of(), null));
+
+        mvc.perform(get("/bookings?state=ALL&size=1&after=")
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.HEADER, next.encode()));
+        mvc.perform(get("/bookings?state=ALL&size=1&after=" + next.encode())
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.HEADER));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getAllUserBookingsWithMalformedCursor() {
+        mvc.perform(get("/bookings/owner?state=ALL&after=%%%")
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportAllUserItemsBookingsStreamsNdjson() {
+        when(bookingService.exportBookingsOfOwner(eq(USER_ID), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, NdjsonExporter.MEDIA_TYPE))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void exportAllUserItemsBookingsOfUnknownUser() {
+        when(bookingService.exportBookingsOfOwner(eq(USER_ID), any()))
+                .thenThrow(new EntityNotFoundException("Пользователь не найден"));
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(status().isNotFound());
+    }
+}
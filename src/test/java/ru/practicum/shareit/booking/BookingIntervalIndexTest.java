@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookingIntervalIndexTest {
+    private static final long ITEM_ID = 3L;
+
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private Item item;
+    private LocalDateTime base;
+
+    @BeforeEach
+    public void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, 100);
+        item = new Item(ITEM_ID, "otvertka", "description", true, null, null);
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    public void overlapsLoadsIntervalsOnlyOnceTest() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(anyLong(), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(1L, 0, 2), booking(2L, 5, 6)));
+
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, base.plusHours(1), base.plusHours(3)));
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, base.plusHours(2), base.plusHours(5)));
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, base.minusHours(1), base.plusHours(10)));
+
+        verify(bookingRepository, times(1))
+                .findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(anyLong(), anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void longBookingHiddenBehindShortOnesIsFoundTest() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(anyLong(), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(1L, 0, 100), booking(2L, 1, 2), booking(3L, 3, 4)));
+
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, base.plusHours(50), base.plusHours(51)));
+    }
+
+    @Test
+    public void addAndRemoveTest() {
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+
+        Booking booking = booking(7L, 0, 1);
+        bookingIntervalIndex.add(booking);
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+
+        bookingIntervalIndex.remove(booking);
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+    }
+
+    @Test
+    public void bookingCommittedDuringLoadIsNotLostTest() {
+        Booking committed = booking(7L, 0, 1);
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(anyLong(), anyList(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    bookingIntervalIndex.add(committed);
+                    return List.of();
+                })
+                .thenReturn(List.of(committed));
+
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+
+        verify(bookingRepository, times(2))
+                .findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(anyLong(), anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void evictedItemIsLoadedAgainTest() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(anyLong(), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(1L, 0, 2)))
+                .thenReturn(List.of());
+
+        assertTrue(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+        bookingIntervalIndex.evict(ITEM_ID);
+        assertFalse(bookingIntervalIndex.overlaps(ITEM_ID, base, base.plusHours(1)));
+    }
+
+    private Booking booking(long id, int startHours, int endHours) {
+        return new Booking(id, item, null, Status.APPROVED, base.plusHours(startHours), base.plusHours(endHours));
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Замена exclusion constraint bookings_no_overlap из schema-postgres.sql для тестов на H2, где нет
+ * типов-диапазонов. Подключается в schema-h2-overlap.sql и отклоняет вставку или изменение активного бронирования,
+ * если его период пересекается с другим активным бронированием той же вещи.
+ */
+public class BookingOverlapTrigger implements Trigger {
+
+    private static final Set<String> ACTIVE_STATUSES = Set.of(Status.APPROVED.name(), Status.WAITING.name());
+
+    private static final String OVERLAP_QUERY = "SELECT 1 FROM bookings " +
+            "WHERE item_id = ? AND id <> ? AND status IN ('APPROVED', 'WAITING') AND start_date < ? AND end_date > ?";
+
+    private int idColumn;
+    private int startColumn;
+    private int endColumn;
+    private int itemColumn;
+    private int statusColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        try (ResultSet columns = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (columns.next()) {
+                int index = columns.getInt("ORDINAL_POSITION") - 1;
+                switch (columns.getString("COLUMN_NAME").toLowerCase()) {
+                    case "id":
+                        idColumn = index;
+                        break;
+                    case "start_date":
+                        startColumn = index;
+                        break;
+                    case "end_date":
+                        endColumn = index;
+                        break;
+                    case "item_id":
+                        itemColumn = index;
+                        break;
+                    case "status":
+                        statusColumn = index;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (newRow == null || !ACTIVE_STATUSES.contains(String.valueOf(newRow[statusColumn]))) {
+            return;
+        }
+        try (PreparedStatement statement = conn.prepareStatement(OVERLAP_QUERY)) {
+            statement.setObject(1, newRow[itemColumn]);
+            statement.setObject(2, newRow[idColumn]);
+            statement.setObject(3, newRow[endColumn]);
+            statement.setObject(4, newRow[startColumn]);
+            try (ResultSet overlapping = statement.executeQuery()) {
+                if (overlapping.next()) {
+                    throw new SQLException("conflicting key value violates exclusion constraint \""
+                            + BookingServiceImp.OVERLAP_CONSTRAINT + "\"", BookingServiceImp.EXCLUSION_VIOLATION);
+                }
+            }
+        }
+    }
+}
@@ -1,21 +1,32 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.common.KeysetCursor;
+import ru.practicum.shareit.exceptions.IncorrectCursorException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -23,15 +34,18 @@ public class BookingRepositoryTest {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final TestEntityManager entityManager;
 
     private User booker;
+    private User owner;
+    private Item item;
 
     @BeforeEach
     public void beforeEach() {
 
         booker = userRepository.save(new User(null, "booker", "booker@gmail.com"));
-        User owner = userRepository.save(new User(null, "owner", "owner@gmail.com"));
-        Item item = itemRepository.save(new Item(null, "otvertka", "description", true, owner, null));
+        owner = userRepository.save(new User(null, "owner", "owner@gmail.com"));
+        item = itemRepository.save(new Item(null, "otvertka", "description", true, owner, null));
 
         bookingRepository.save(new Booking(
                 null,
@@ -44,8 +58,96 @@ public class BookingRepositoryTest {
 
     @Test
     public void findAllByBookerIdTest() {
-        List<Booking> allByBookerId = bookingRepository.findAllByBookerId(booker.getId(), Pageable.unpaged());
+        List<Booking> allByBookerId = bookingRepository.findAllByBookerId(booker.getId(), Pageable.unpaged()).getContent();
         assertNotNull(allByBookerId);
         assertEquals(1, allByBookerId.size());
     }
+
+    @Test
+    public void findByBookerIdAndStatusInAndStartAfterTest() {
+        Pageable firstPage = PageRequest.of(0, 1, Sort.by("start").descending());
+        bookingRepository.save(new Booking(null, item, booker, Status.APPROVED,
+                LocalDateTime.now().minusHours(3), LocalDateTime.now().minusHours(2)));
+
+        List<Booking> future = bookingRepository.findByBookerIdAndStatusInAndStartAfter(booker.getId(),
+                List.of(Status.APPROVED, Status.WAITING), LocalDateTime.now(), firstPage).getContent();
+        List<Booking> past = bookingRepository.findByBookerIdAndStatusInAndEndBefore(booker.getId(),
+                List.of(Status.APPROVED), LocalDateTime.now(), firstPage).getContent();
+
+        assertEquals(1, future.size());
+        assertEquals(Status.WAITING, future.get(0).getStatus());
+        assertEquals(1, past.size());
+        assertEquals(Status.APPROVED, past.get(0).getStatus());
+    }
+
+    @Test
+    public void findAllByItemOwnerIdTest() {
+        User otherOwner = userRepository.save(new User(null, "other", "other@gmail.com"));
+        Item otherItem = itemRepository.save(new Item(null, "molotok", "description", true, otherOwner, null));
+        bookingRepository.save(new Booking(null, otherItem, booker, Status.WAITING,
+                LocalDateTime.now().plusMinutes(1), LocalDateTime.now().plusHours(2)));
+
+        List<Booking> ownerBookings = bookingRepository.findAllByItemOwnerIdAndStatusIn(owner.getId(),
+                List.of(Status.WAITING), Pageable.unpaged()).getContent();
+
+        assertEquals(1, ownerBookings.size());
+        assertEquals(item.getId(), ownerBookings.get(0).getItem().getId());
+    }
+
+    @Test
+    public void ownerBookingsAreFetchedWithAssociationsTest() {
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> ownerBookings = bookingRepository.findAllByItemOwnerId(owner.getId(), Pageable.unpaged()).getContent();
+
+        assertEquals(1, ownerBookings.size());
+        assertTrue(Hibernate.isInitialized(ownerBookings.get(0).getItem()));
+        assertTrue(Hibernate.isInitialized(ownerBookings.get(0).getItem().getOwner()));
+        assertTrue(Hibernate.isInitialized(ownerBookings.get(0).getBooker()));
+    }
+
+    @Test
+    public void overlappingActiveBookingIsRejectedTest() {
+        Booking overlapping = new Booking(null, item, booker, Status.WAITING,
+                LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(3));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingRepository.saveAndFlush(overlapping));
+    }
+
+    @Test
+    public void overlappingRejectedBookingIsAllowedTest() {
+        Booking rejected = new Booking(null, item, booker, Status.REJECTED,
+                LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(3));
+
+        assertNotNull(bookingRepository.saveAndFlush(rejected).getId());
+    }
+
+    @Test
+    public void findPageWalksBookingsByStartAndIdTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            Item other = itemRepository.save(new Item(null, "item" + i, "description", true, owner, null));
+            bookingRepository.save(new Booking(null, other, booker, Status.WAITING, start, start.plusHours(1)));
+        }
+        Specification<Booking> filter = BookingSpecifications.ofOwner(owner.getId(), State.FUTURE, LocalDateTime.now());
+
+        List<Booking> firstPage = bookingRepository.findPage(filter, null, 3);
+        Booking last = firstPage.get(2);
+        List<Booking> secondPage = bookingRepository.findPage(filter, new KeysetCursor(last.getStart(), last.getId()), 3);
+
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(firstPage.get(0).getId() > firstPage.get(1).getId());
+        assertTrue(last.getId() > secondPage.get(0).getId());
+        assertTrue(Hibernate.isInitialized(secondPage.get(0).getItem().getOwner()));
+        assertTrue(bookingRepository.findPage(BookingSpecifications.ofBooker(booker.getId(), State.PAST, LocalDateTime.now()), null, 3).isEmpty());
+    }
+
+    @Test
+    public void findPageRejectsCursorWithoutKeyTest() {
+        Specification<Booking> filter = BookingSpecifications.ofOwner(owner.getId(), State.ALL, LocalDateTime.now());
+
+        assertThrows(IncorrectCursorException.class, () -> bookingRepository.findPage(filter, new KeysetCursor(null, 1L), 3));
+    }
 }
@@ -3,23 +3,26 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectAvailableException;
 import ru.practicum.shareit.exceptions.IncorrectOwnerException;
 import ru.practicum.shareit.exceptions.IncorrectTimeException;
+import ru.practicum.shareit.exports.NdjsonExporter;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -55,7 +58,9 @@ public class BookingServiceTest {
         itemRepository = mock(ItemRepository.class);
         userRepository = mock(UserRepository.class);
         bookingMapper = new BookingMapper(new UserMapper(), new ItemMapper(new UserMapper()));
-        bookingService = new BookingServiceImp(bookingRepository, itemRepository, userRepository, bookingMapper);
+        bookingService = new BookingServiceImp(bookingRepository, itemRepository, userRepository, bookingMapper,
+                new BookingIntervalIndex(bookingRepository, 100), mock(ItemBookingPointersService.class),
+                new ItemDetailsCache(100, Duration.ofMinutes(1)), mock(NdjsonExporter.class));
         testOwner = new User(OWNER_ID, "name1", "name1@gmail.com");
         testBooker = new User(BOOKER_ID, "name2", "name2@gmail.com");
         testUser = new User(USER_ID, "name3", "name3@gmail.com");
@@ -85,7 +90,7 @@ public class BookingServiceTest {
         bookingInputDTO.setStart(LocalDateTime.now().plusMinutes(1));
 
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testOwner));
 
         BookingDTO bookingDTO = bookingService.addBooking(BOOKER_ID, bookingInputDTO);
@@ -130,7 +135,7 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusHours(2)
         );
 
-        when(bookingRepository.findAllByItemIdAndStatusIn(any(Long.class), eq(List.of(Status.APPROVED, Status.WAITING))))
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(any(Long.class), eq(List.of(Status.APPROVED, Status.WAITING)), any(LocalDateTime.class)))
                 .thenReturn(List.of(booking));
 
         try {
@@ -164,7 +169,7 @@ public class BookingServiceTest {
         bookingInputDTO.setStart(LocalDateTime.now().plusMinutes(1));
 
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
-        when(bookingRepository.findAllByItemIdAndStatusIn(testItem.getId(), List.of(Status.APPROVED, WAITING))).thenReturn(List.of(
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStartAsc(eq(testItem.getId()), eq(List.of(Status.APPROVED, WAITING)), any(LocalDateTime.class))).thenReturn(List.of(
                 new Booking(1L, testItem, testOwner, Status.APPROVED, LocalDateTime.now().plusHours(1), LocalDateTime.MAX)
         ));
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testOwner));
@@ -176,6 +181,36 @@ public class BookingServiceTest {
         }
     }
 
+    @Test
+    public void addBookingWhenDatabaseRejectsOverlap() {
+        BookingInputDTO bookingInputDTO = new BookingInputDTO();
+        bookingInputDTO.setItemId(ITEM_ID);
+        bookingInputDTO.setEnd(LocalDateTime.now().plusHours(2));
+        bookingInputDTO.setStart(LocalDateTime.now().plusMinutes(1));
+
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
+        when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("conflicting key value", "23P01")));
+
+        assertThrows(IncorrectTimeException.class, () -> bookingService.addBooking(BOOKER_ID, bookingInputDTO));
+    }
+
+    @Test
+    public void addBookingWhenDatabaseRejectsForOtherReason() {
+        BookingInputDTO bookingInputDTO = new BookingInputDTO();
+        bookingInputDTO.setItemId(ITEM_ID);
+        bookingInputDTO.setEnd(LocalDateTime.now().plusHours(2));
+        bookingInputDTO.setStart(LocalDateTime.now().plusMinutes(1));
+
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
+        when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("foreign key violation", "23503")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.addBooking(BOOKER_ID, bookingInputDTO));
+    }
+
     @Test
     public void createBookingWhenItemNotAvailable() {
         Item item = new Item(
@@ -193,7 +228,7 @@ public class BookingServiceTest {
         bookingInputDTO.setStart(LocalDateTime.now().plusMinutes(1));
 
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testOwner));
 
         try {
@@ -211,7 +246,7 @@ public class BookingServiceTest {
         bookingInputDTO.setStart(LocalDateTime.now().plusMinutes(1));
 
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.empty());
 
         try {
@@ -367,7 +402,7 @@ public class BookingServiceTest {
     public void getAllBookingsOfCurrentUserWaitingTest() {
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(bookingRepository.findByBookerIdAndStatusIn(OWNER_ID, List.of(WAITING), PageRequest.ofSize(5))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findByBookerIdAndStatusIn(OWNER_ID, List.of(WAITING), PageRequest.ofSize(5))).thenReturn(new SliceImpl<>(List.of(testBooking)));
         testBooking.setStart(LocalDateTime.now().plusHours(1));
         testBooking.setEnd(testBooking.getStart().plusHours(1));
 
@@ -379,7 +414,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfCurrentUserCurrent() {
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
-        when(bookingRepository.findByBookerIdAndStatusIn(BOOKER_ID, List.of(Status.APPROVED, Status.REJECTED, Status.WAITING, Status.CANCELED), PageRequest.ofSize(5))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(eq(BOOKER_ID), any(LocalDateTime.class), any(LocalDateTime.class), eq(PageRequest.ofSize(5)))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStart(LocalDateTime.now().minusHours(1));
         testBooking.setEnd(testBooking.getStart().plusHours(2));
@@ -392,7 +427,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfCurrentUserTestFutureBookings() {
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
-        when(bookingRepository.findByBookerIdAndStatusIn(BOOKER_ID, List.of(Status.APPROVED, Status.WAITING), PageRequest.ofSize(5))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findByBookerIdAndStatusInAndStartAfter(eq(BOOKER_ID), eq(List.of(Status.APPROVED, Status.WAITING)), any(LocalDateTime.class), eq(PageRequest.ofSize(5)))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStart(LocalDateTime.now().plusHours(1));
         testBooking.setEnd(testBooking.getStart().plusHours(1));
@@ -405,7 +440,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfCurrentUserTestPastBookings() {
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
-        when(bookingRepository.findByBookerIdAndStatusIn(BOOKER_ID, List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED), PageRequest.ofSize(5))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findByBookerIdAndStatusInAndEndBefore(eq(BOOKER_ID), eq(List.of(Status.APPROVED, Status.REJECTED, Status.CANCELED)), any(LocalDateTime.class), eq(PageRequest.ofSize(5)))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStatus(APPROVED);
         testBooking.setStart(LocalDateTime.now().minusHours(2));
@@ -419,7 +454,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfCurrentUserTestRejectedBookings() {
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
-        when(bookingRepository.findByBookerIdAndStatusIn(BOOKER_ID, List.of(Status.REJECTED, Status.CANCELED), PageRequest.ofSize(5))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findByBookerIdAndStatusIn(BOOKER_ID, List.of(Status.REJECTED, Status.CANCELED), PageRequest.ofSize(5))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStatus(CANCELED);
         testBooking.setStart(LocalDateTime.now().minusHours(2));
@@ -433,33 +468,17 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfCurrentUserTestDefault() {
         when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
-        when(bookingRepository.findAllByBookerId(BOOKER_ID, PageRequest.ofSize(5))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByBookerId(BOOKER_ID, PageRequest.ofSize(5))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         List<BookingDTO> bookingDTOList = bookingService.getAllBookingsOfCurrentUser(State.ALL, BOOKER_ID, PageRequest.ofSize(5));
 
         assertEquals(1, bookingDTOList.size());
     }
 
-    @Test
-    public void getAllBookingsOfItemsIdsTest() {
-        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
-        when(bookingRepository.findAllByItemIdInAndStatusIn(List.of(ITEM_ID), List.of(Status.APPROVED, Status.WAITING), Pageable.unpaged())).thenReturn(List.of(testBooking));
-        when(userRepository.findById(BOOKER_ID)).thenReturn(Optional.of(testBooker));
-        when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        testBooking.setStart(LocalDateTime.now().plusHours(1));
-        testBooking.setEnd(testBooking.getStart().plusHours(1));
-
-        List<BookingDTO> bookingDTOList = bookingService.getAllBookingsOfItemsIds(List.of(ITEM_ID));
-
-        assertEquals(1, bookingDTOList.size());
-    }
-
     @Test
     public void getAllBookingsOfOwnerTestWaitingBookings() {
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(itemRepository.findAllByOwnerId(OWNER_ID)).thenReturn(List.of(testItem));
-        List<Long> itemIdsForOwner = Stream.of(testItem).map(Item::getId).collect(Collectors.toList());
-        when(bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.WAITING), PageRequest.ofSize(10))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusIn(OWNER_ID, List.of(Status.WAITING), PageRequest.ofSize(10))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         List<BookingDTO> bookingDTOList = bookingService.getAllBookingsOfOwner(State.WAITING, OWNER_ID, PageRequest.ofSize(10));
 
@@ -469,9 +488,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfOwnerTestCurrentBookings() {
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(itemRepository.findAllByOwnerId(OWNER_ID)).thenReturn(List.of(testItem));
-        List<Long> itemIdsForOwner = Stream.of(testItem).map(Item::getId).collect(Collectors.toList());
-        when(bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.APPROVED, Status.REJECTED), PageRequest.ofSize(10))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusInAndStartBeforeAndEndAfter(eq(OWNER_ID), eq(List.of(Status.APPROVED, Status.REJECTED)), any(LocalDateTime.class), any(LocalDateTime.class), eq(PageRequest.ofSize(10)))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStatus(APPROVED);
         testBooking.setStart(LocalDateTime.now().minusHours(1));
@@ -485,9 +502,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfOwnerTestFutureBookings() {
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(itemRepository.findAllByOwnerId(OWNER_ID)).thenReturn(List.of(testItem));
-        List<Long> itemIdsForOwner = Stream.of(testItem).map(Item::getId).collect(Collectors.toList());
-        when(bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.APPROVED, Status.WAITING), PageRequest.ofSize(10))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusInAndStartAfter(eq(OWNER_ID), eq(List.of(Status.APPROVED, Status.WAITING)), any(LocalDateTime.class), eq(PageRequest.ofSize(10)))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStatus(APPROVED);
         testBooking.setStart(LocalDateTime.now().plusHours(1));
@@ -501,9 +516,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfOwnerTestPastBookings() {
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(itemRepository.findAllByOwnerId(OWNER_ID)).thenReturn(List.of(testItem));
-        List<Long> itemIdsForOwner = Stream.of(testItem).map(Item::getId).collect(Collectors.toList());
-        when(bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(APPROVED, REJECTED, CANCELED), PageRequest.ofSize(10))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusInAndEndBefore(eq(OWNER_ID), eq(List.of(APPROVED, REJECTED, CANCELED)), any(LocalDateTime.class), eq(PageRequest.ofSize(10)))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStatus(CANCELED);
         testBooking.setStart(LocalDateTime.now().minusHours(2));
@@ -517,9 +530,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfOwnerTestRejectedBookings() {
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(itemRepository.findAllByOwnerId(OWNER_ID)).thenReturn(List.of(testItem));
-        List<Long> itemIdsForOwner = Stream.of(testItem).map(Item::getId).collect(Collectors.toList());
-        when(bookingRepository.findAllByItemIdInAndStatusIn(itemIdsForOwner, List.of(Status.REJECTED, Status.CANCELED), PageRequest.ofSize(10))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusIn(OWNER_ID, List.of(Status.REJECTED, Status.CANCELED), PageRequest.ofSize(10))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStatus(REJECTED);
         testBooking.setStart(LocalDateTime.now().minusHours(2));
@@ -533,9 +544,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsOfOwnerTestDefault() {
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(testOwner));
-        when(itemRepository.findAllByOwnerId(OWNER_ID)).thenReturn(List.of(testItem));
-        List<Long> itemIdsForOwner = Stream.of(testItem).map(Item::getId).collect(Collectors.toList());
-        when(bookingRepository.findAllByItemIdIn(itemIdsForOwner, PageRequest.ofSize(10))).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByItemOwnerId(OWNER_ID, PageRequest.ofSize(10))).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         List<BookingDTO> bookingDTOList = bookingService.getAllBookingsOfOwner(State.ALL, OWNER_ID, PageRequest.ofSize(10));
 
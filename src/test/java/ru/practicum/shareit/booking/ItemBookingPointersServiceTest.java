@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(ItemBookingPointersService.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemBookingPointersServiceTest {
+    private final ItemBookingPointersService itemBookingPointersService;
+    private final ItemBookingPointersRepository itemBookingPointersRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    public void beforeEach() {
+        booker = userRepository.save(new User(null, "booker", "booker@gmail.com"));
+        User owner = userRepository.save(new User(null, "owner", "owner@gmail.com"));
+        item = itemRepository.save(new Item(null, "otvertka", "description", true, owner, null));
+    }
+
+    @Test
+    public void refreshStoresLastAndNextBookingTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = bookingRepository.save(new Booking(null, item, booker, Status.APPROVED,
+                now.minusDays(2), now.minusDays(1)));
+        bookingRepository.save(new Booking(null, item, booker, Status.REJECTED, now.plusHours(1), now.plusHours(2)));
+        Booking next = bookingRepository.save(new Booking(null, item, booker, Status.WAITING,
+                now.plusDays(1), now.plusDays(2)));
+
+        itemBookingPointersService.refresh(item.getId());
+
+        ItemBookingPointers pointers = itemBookingPointersRepository.findById(item.getId()).orElseThrow();
+        assertEquals(last.getId(), pointers.getLastBooking().getId());
+        assertEquals(next.getId(), pointers.getNextBooking().getId());
+    }
+
+    @Test
+    public void rollForwardMovesStartedBookingToLastTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking started = bookingRepository.save(new Booking(null, item, booker, Status.APPROVED,
+                now.minusMinutes(5), now.plusHours(1)));
+        itemBookingPointersRepository.save(new ItemBookingPointers(item.getId(), null, started, null));
+
+        assertEquals(List.of(item.getId()), itemBookingPointersRepository.findItemIdsWithStalePointers(now));
+        itemBookingPointersService.rollForward();
+
+        ItemBookingPointers pointers = itemBookingPointersRepository.findById(item.getId()).orElseThrow();
+        assertEquals(started.getId(), pointers.getLastBooking().getId());
+        assertNull(pointers.getNextBooking());
+    }
+
+    @Test
+    public void rollForwardMovesEndedCurrentBookingToLastTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking older = bookingRepository.save(new Booking(null, item, booker, Status.APPROVED,
+                now.minusDays(2), now.minusDays(1)));
+        Booking current = bookingRepository.save(new Booking(null, item, booker, Status.APPROVED,
+                now.minusHours(1), now.plusHours(1)));
+        itemBookingPointersService.refresh(item.getId());
+        ItemBookingPointers pointers = itemBookingPointersRepository.findById(item.getId()).orElseThrow();
+        assertEquals(older.getId(), pointers.getLastBooking().getId());
+        assertEquals(current.getEnd(), pointers.getCurrentBookingEnd());
+
+        current.setEnd(now.minusMinutes(1));
+        bookingRepository.save(current);
+        pointers.setCurrentBookingEnd(current.getEnd());
+        itemBookingPointersRepository.save(pointers);
+        assertEquals(List.of(item.getId()), itemBookingPointersRepository.findItemIdsWithStalePointers(now));
+        itemBookingPointersService.rollForward();
+
+        pointers = itemBookingPointersRepository.findById(item.getId()).orElseThrow();
+        assertEquals(current.getId(), pointers.getLastBooking().getId());
+        assertNull(pointers.getCurrentBookingEnd());
+        assertTrue(itemBookingPointersRepository.findItemIdsWithStalePointers(now).isEmpty());
+    }
+
+    @Test
+    public void backfillCreatesMissingPointersTest() {
+        bookingRepository.save(new Booking(null, item, booker, Status.WAITING,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        assertTrue(itemBookingPointersRepository.findItemIdsWithoutPointers().contains(item.getId()));
+
+        itemBookingPointersService.backfill();
+
+        assertTrue(itemBookingPointersRepository.findById(item.getId()).isPresent());
+        assertTrue(itemBookingPointersRepository.findItemIdsWithoutPointers().isEmpty());
+    }
+}
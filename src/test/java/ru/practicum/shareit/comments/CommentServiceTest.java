@@ -3,15 +3,18 @@ package ru.practicum.shareit.comments;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectAvailableException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -56,7 +59,8 @@ public class CommentServiceTest {
                 userRepository,
                 itemRepository,
                 new CommentMapper(),
-                bookingRepository);
+                bookingRepository,
+                new ItemDetailsCache(100, Duration.ofMinutes(1)));
 
         testItem = new Item(
                 ITEM_ID,
@@ -83,7 +87,7 @@ public class CommentServiceTest {
         when(userRepository.findById(COMMENTATOR_ID)).thenReturn(Optional.of(TEST_COMMENTATOR));
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
         when(commentRepository.save(any(Comment.class))).thenReturn(new Comment(10L, "comment", testItem, TEST_COMMENTATOR, LocalDateTime.now()));
-        when(bookingRepository.findAllByBookerId(COMMENTATOR_ID, Pageable.unpaged())).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByBookerId(COMMENTATOR_ID, Pageable.unpaged())).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStart(LocalDateTime.now().minusHours(2));
         testBooking.setEnd(LocalDateTime.now().minusHours(1));
@@ -124,6 +128,7 @@ public class CommentServiceTest {
 
         testBooking.setStart(LocalDateTime.now().minusHours(1));
         testBooking.setEnd(LocalDateTime.now().plusHours(1));
+        when(bookingRepository.findAllByBookerId(COMMENTATOR_ID, Pageable.unpaged())).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         try {
             commentService.addComment(commentDTO, COMMENTATOR_ID, ITEM_ID);
@@ -136,7 +141,7 @@ public class CommentServiceTest {
     public void addCommentTestCommentatorIsOwner() {
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(testItem));
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(TEST_OWNER));
-        when(bookingRepository.findAllByBookerId(BOOKING_ID, Pageable.unpaged())).thenReturn(List.of(testBooking));
+        when(bookingRepository.findAllByBookerId(BOOKING_ID, Pageable.unpaged())).thenReturn(new SliceImpl<>(List.of(testBooking)));
 
         testBooking.setStart(LocalDateTime.now().minusHours(2));
         testBooking.setEnd(LocalDateTime.now().minusHours(1));
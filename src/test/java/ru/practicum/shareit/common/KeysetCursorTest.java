@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.IncorrectCursorException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void decodeRestoresEncodedCursorTest() {
+        KeysetCursor withKey = new KeysetCursor(LocalDateTime.of(2030, 5, 1, 10, 15, 30, 123_000_000), 42L);
+        KeysetCursor idOnly = new KeysetCursor(null, 7L);
+
+        assertEquals(withKey, KeysetCursor.decode(withKey.encode()));
+        assertEquals(idOnly, KeysetCursor.decode(idOnly.encode()));
+    }
+
+    @Test
+    public void decodeEmptyTokenStartsFromFirstPageTest() {
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    public void decodeRejectsMalformedTokenTest() {
+        assertThrows(IncorrectCursorException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    public void requireKeyRejectsIdOnlyCursorTest() {
+        assertThrows(IncorrectCursorException.class, () -> new KeysetCursor(null, 7L).requireKey());
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class KeysetPageTest {
+
+    @Test
+    public void exactlyFullLastPageHasNoNextCursorTest() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(1L, 2L, 3L), 3, id -> new KeysetCursor(null, id), Function.identity());
+
+        assertEquals(List.of(1L, 2L, 3L), page.getContent());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void extraRowIsDroppedAndGivesNextCursorTest() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(1L, 2L, 3L, 4L), 3, id -> new KeysetCursor(null, id), Function.identity());
+
+        assertEquals(List.of(1L, 2L, 3L), page.getContent());
+        assertEquals(new KeysetCursor(null, 3L), page.getNext());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OffsetBasedPageRequestTest {
+
+    @Test
+    public void offsetIsNotRoundedToPageBoundaryTest() {
+        Pageable pageable = OffsetBasedPageRequest.of(3, 2, Sort.by("id"));
+
+        assertEquals(3, pageable.getOffset());
+        assertEquals(2, pageable.getPageSize());
+        assertEquals(5, pageable.next().getOffset());
+        assertEquals(1, pageable.previousOrFirst().getOffset());
+        assertEquals(Sort.by("id"), pageable.next().getSort());
+    }
+
+    @Test
+    public void firstPageHasNoPreviousTest() {
+        Pageable pageable = OffsetBasedPageRequest.of(0, 10);
+
+        assertFalse(pageable.hasPrevious());
+        assertEquals(pageable, pageable.previousOrFirst());
+    }
+
+    @Test
+    public void negativeOffsetIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> OffsetBasedPageRequest.of(-1, 10));
+    }
+}
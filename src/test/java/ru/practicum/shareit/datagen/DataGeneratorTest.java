@@ -0,0 +1,91 @@
+package ru.practicum.shareit.datagen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DataGeneratorTest {
+    private static final DatagenPlan PLAN = DatagenPlan.builder()
+            .seed(7)
+            .users(30)
+            .items(60)
+            .requests(10)
+            .bookings(400)
+            .comments(25)
+            .batchSize(50)
+            .popularityExponent(1.1)
+            .anchor(LocalDateTime.of(2024, 3, 1, 0, 0))
+            .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DataGenerator dataGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        dataGenerator = new DataGenerator(jdbcTemplate);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clear();
+    }
+
+    @Test
+    public void generateFillsAllTablesTest() {
+        dataGenerator.generate(PLAN);
+
+        assertEquals(30, count("users"));
+        assertEquals(10, count("requests"));
+        assertEquals(60, count("items"));
+        assertEquals(400, count("bookings"));
+        assertEquals(25, count("comments"));
+        assertEquals(60, count("item_booking_pointers"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings a JOIN bookings b " +
+                "ON a.item_id = b.item_id AND a.id < b.id AND a.start_date < b.end_date AND b.start_date < a.end_date", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings b JOIN items i ON b.item_id = i.id " +
+                "WHERE b.booker_id = i.owner_id", Long.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR bookings_seq", Long.class) > 400);
+    }
+
+    @Test
+    public void generateIsDeterministicBySeedTest() {
+        dataGenerator.generate(PLAN);
+        List<Map<String, Object>> bookings = bookings();
+        List<Map<String, Object>> items = jdbcTemplate.queryForList("SELECT * FROM items ORDER BY id");
+        clear();
+
+        dataGenerator.generate(PLAN);
+
+        assertEquals(bookings, bookings());
+        assertEquals(items, jdbcTemplate.queryForList("SELECT * FROM items ORDER BY id"));
+    }
+
+    private List<Map<String, Object>> bookings() {
+        return jdbcTemplate.queryForList("SELECT * FROM bookings ORDER BY id");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private void clear() {
+        List.of("item_booking_pointers", "comments", "bookings", "items", "requests", "users")
+                .forEach(table -> jdbcTemplate.execute("DELETE FROM " + table));
+    }
+}
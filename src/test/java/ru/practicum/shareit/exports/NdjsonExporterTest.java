@@ -0,0 +1,55 @@
+package ru.practicum.shareit.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDTO;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "shareit.export.clear-every=3")
+@Import({NdjsonExporter.class, UserMapper.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class NdjsonExporterTest {
+    private final NdjsonExporter ndjsonExporter;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    @Test
+    @SneakyThrows
+    public void writesOneObjectPerLineAcrossClearsTest() {
+        List<User> users = userRepository.saveAll(IntStream.range(0, 7)
+                .mapToObj(i -> new User(null, "user" + i, "user" + i + "@mail.ru"))
+                .collect(Collectors.toList()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = ndjsonExporter.write(userRepository.streamAll(), userMapper::toUserDTO, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        List<UserDTO> exported = new ArrayList<>();
+        for (String line : lines) {
+            exported.add(objectMapper.readValue(line, UserDTO.class));
+        }
+        assertEquals(7, written);
+        assertEquals(users.stream().map(userMapper::toUserDTO).collect(Collectors.toList()), exported);
+        assertEquals('\n', out.toString(StandardCharsets.UTF_8).charAt(out.size() - 1));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.imports;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDTO;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Пакеты сохраняются в собственных транзакциях, поэтому тест выполняется без общей транзакции.
+ */
+@DataJpaTest(properties = "shareit.import.chunk-size=2")
+@Import(BulkImporter.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkImporterTest {
+    @Autowired
+    private BulkImporter bulkImporter;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void failedChunkIsReportedAndImportContinuesTest() {
+        String ndjson = "{\"name\":\"first\",\"email\":\"first@mail.ru\"}\n" +
+                "{\"name\":\"second\",\"email\":\"second@mail.ru\"}\n" +
+                "{\"name\":\"first again\",\"email\":\"first@mail.ru\"}\n" +
+                "{\"name\":\"third\",\"email\":\"third@mail.ru\"}\n" +
+                "{\"name\":\"fourth\",\"email\":\"fourth@mail.ru\"}\n";
+
+        ImportReport report = bulkImporter.run(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                ImportFormat.NDJSON, UserDTO.class, new UncheckedUserWriter());
+
+        assertEquals(5, report.getTotal());
+        assertEquals(3, report.getImported());
+        assertEquals(List.of(3L, 4L), report.getErrors().stream().map(ImportError::getRow).collect(Collectors.toList()));
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Пакет не сохранён"));
+        assertEquals(List.of("first@mail.ru", "fourth@mail.ru", "second@mail.ru"), userRepository.findAll().stream()
+                .map(User::getEmail).sorted().collect(Collectors.toList()));
+    }
+
+    /**
+     * Не проверяет уникальность email заранее, поэтому повтор доходит до ограничения в базе при flush.
+     */
+    private class UncheckedUserWriter implements ImportChunkWriter<UserDTO> {
+        @Override
+        public List<ImportRow<UserDTO>> resolve(List<ImportRow<UserDTO>> rows, ImportReport report) {
+            return rows;
+        }
+
+        @Override
+        public void save(List<ImportRow<UserDTO>> rows) {
+            userRepository.saveAll(rows.stream()
+                    .map(row -> new User(null, row.getValue().getName(), row.getValue().getEmail()))
+                    .collect(Collectors.toList()));
+        }
+    }
+}
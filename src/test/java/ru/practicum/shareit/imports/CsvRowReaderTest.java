@@ -0,0 +1,48 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvRowReaderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @SneakyThrows
+    public void readsQuotedValuesWithSeparatorsAndLineBreaksTest() {
+        CsvRowReader reader = reader("\uFEFFname,description\r\n\"Дрель, ударная\",\"Две строки\nи \"\"кавычки\"\"\"\r\n");
+
+        assertEquals(objectMapper.readTree("{\"name\":\"Дрель, ударная\",\"description\":\"Две строки\\nи \\\"кавычки\\\"\"}"),
+                reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @SneakyThrows
+    public void skipsEmptyValuesAndBlankLinesTest() {
+        CsvRowReader reader = reader("name,requestId\n\nПила,\n");
+
+        assertFalse(reader.next().has("requestId"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @SneakyThrows
+    public void rejectsRowWithWrongFieldCountAndContinuesTest() {
+        CsvRowReader reader = reader("name,description\nПила\nДрель,ударная\n");
+
+        assertThrows(ImportRowException.class, reader::next);
+        assertEquals("Дрель", reader.next().get("name").asText());
+    }
+
+    private CsvRowReader reader(String csv) {
+        return new CsvRowReader(new StringReader(csv), objectMapper);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InMemoryItemSearchEngineTest {
+    private ItemRepository itemRepository;
+    private InMemoryItemSearchEngine searchEngine;
+    private Map<Long, Item> items;
+
+    @BeforeEach
+    public void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        searchEngine = new InMemoryItemSearchEngine(itemRepository);
+        items = List.of(
+                new Item(1L, "Дрель", "Аккумуляторная дрель", true, null, null),
+                new Item(2L, "Otvertka", "krestovaya", true, null, null),
+                new Item(3L, "Отвёртка", "Крестовая, новая", false, null, null),
+                new Item(4L, "Napolniy Krest", "brand new", true, null, null)
+        ).stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(new ArrayList<>(items.values())));
+        when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Item> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                found.add(items.get(id));
+            }
+            return found;
+        });
+    }
+
+    @Test
+    public void searchMatchesWordPrefixesIgnoringCaseTest() {
+        assertEquals(List.of(2L, 4L), ids(searchEngine.search("KREST", Pageable.unpaged())));
+        assertEquals(List.of(1L), ids(searchEngine.search("аккУМУляторная", Pageable.unpaged())));
+        assertEquals(List.of(1L), ids(searchEngine.search("дрель аккум", Pageable.unpaged())));
+        assertTrue(searchEngine.search("дрель krest", Pageable.unpaged()).isEmpty());
+        verify(itemRepository, times(1)).findAll(any(Pageable.class));
+    }
+
+    @Test
+    public void searchSkipsUnavailableItemsTest() {
+        assertTrue(searchEngine.search("отвертка", Pageable.unpaged()).isEmpty());
+
+        searchEngine.update(new Item(3L, "Отвёртка", "Крестовая, новая", true, null, null));
+
+        assertEquals(List.of(3L), ids(searchEngine.search("отвертка", Pageable.unpaged())));
+    }
+
+    @Test
+    public void searchReturnsRequestedPageTest() {
+        assertEquals(List.of(4L), ids(searchEngine.search("krest", PageRequest.of(1, 1))));
+    }
+
+    @Test
+    public void updateAndRemoveChangeIndexTest() {
+        searchEngine.ensureLoaded();
+        Item renamed = new Item(2L, "Shpatel", "new", true, null, null);
+        items.put(5L, new Item(5L, "Krestovina", "new", true, null, null));
+
+        searchEngine.update(renamed);
+        searchEngine.update(items.get(5L));
+        searchEngine.remove(4L);
+
+        assertEquals(List.of(5L), ids(searchEngine.search("krest", Pageable.unpaged())));
+        assertEquals(Set.of(2L, 5L), Set.copyOf(ids(searchEngine.search("new", Pageable.unpaged()))));
+    }
+
+    @Test
+    public void postingsKeepIdsSortedTest() {
+        InMemoryItemSearchEngine.Postings postings = new InMemoryItemSearchEngine.Postings();
+        for (int id : new int[]{5, 300, 70000, 2, 300, 1}) {
+            postings.add(id);
+        }
+        postings.remove(300);
+
+        assertArrayEquals(new int[]{1, 2, 5, 70000}, postings.decode());
+    }
+
+    private static List<Long> ids(Collection<Item> found) {
+        return found.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointers;
+import ru.practicum.shareit.booking.ItemBookingPointersRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.comments.Comment;
+import ru.practicum.shareit.comments.CommentMapper;
+import ru.practicum.shareit.comments.CommentRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ItemBatchLoaderTest {
+    private static final User OWNER = new User(1L, "owner", "owner@mail.ru");
+    private static final User BOOKER = new User(2L, "booker", "booker@mail.ru");
+
+    private CommentRepository commentRepository;
+    private BookingRepository bookingRepository;
+    private ItemBookingPointersRepository itemBookingPointersRepository;
+    private ItemBatchLoader itemBatchLoader;
+    private ItemMapper itemMapper;
+    private Item first;
+    private Item second;
+
+    @BeforeEach
+    public void setUp() {
+        commentRepository = mock(CommentRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        itemBookingPointersRepository = mock(ItemBookingPointersRepository.class);
+        itemMapper = new ItemMapper(new UserMapper());
+        itemBatchLoader = new ItemBatchLoader(commentRepository, new CommentMapper(), bookingRepository,
+                itemBookingPointersRepository, mock(ItemRepository.class), itemMapper);
+        first = new Item(10L, "otvertka", "description", true, OWNER, null);
+        second = new Item(20L, "molotok", "description", true, OWNER, null);
+    }
+
+    @Test
+    public void loadBookingsUsesPointersTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = new Booking(1L, first, BOOKER, Status.APPROVED, now.minusDays(2), now.minusDays(1));
+        Booking next = new Booking(2L, first, BOOKER, Status.WAITING, now.plusDays(1), now.plusDays(2));
+        when(itemBookingPointersRepository.findAllByItemIdIn(anyCollection()))
+                .thenReturn(List.of(new ItemBookingPointers(first.getId(), last, next, null)));
+        List<ItemCommentsDTO> items = List.of(itemMapper.toItemCommentDto(first), itemMapper.toItemCommentDto(second));
+
+        itemBatchLoader.loadBookings(items);
+
+        assertEquals(1L, items.get(0).getLastBooking().getId());
+        assertEquals(2L, items.get(0).getNextBooking().getId());
+        assertNull(items.get(1).getLastBooking());
+        assertNull(items.get(1).getNextBooking());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void loadBookingsRecomputesPointersAfterCurrentBookingEndedTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking older = new Booking(1L, first, BOOKER, Status.APPROVED, now.minusDays(3), now.minusDays(2));
+        Booking ended = new Booking(2L, first, BOOKER, Status.APPROVED, now.minusHours(2), now.minusMinutes(1));
+        when(itemBookingPointersRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(
+                new ItemBookingPointers(first.getId(), older, null, ended.getEnd())));
+        when(bookingRepository.findAllByItemIdInAndStatusIn(anyCollection(), anyList())).thenReturn(List.of(older, ended));
+        List<ItemCommentsDTO> items = List.of(itemMapper.toItemCommentDto(first));
+
+        itemBatchLoader.loadBookings(items);
+
+        assertEquals(2L, items.get(0).getLastBooking().getId());
+        assertNull(items.get(0).getNextBooking());
+    }
+
+    @Test
+    public void loadBookingsRecomputesStalePointersTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking started = new Booking(5L, second, BOOKER, Status.APPROVED, now.minusHours(1), now.plusHours(1));
+        when(itemBookingPointersRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(
+                new ItemBookingPointers(first.getId(), null, new Booking(4L, first, BOOKER, Status.WAITING, now.minusMinutes(1), now.plusDays(2)), null),
+                new ItemBookingPointers(second.getId(), null, started, null)));
+        when(bookingRepository.findAllByItemIdInAndStatusIn(anyCollection(), anyList())).thenReturn(List.of(
+                new Booking(1L, first, BOOKER, Status.APPROVED, now.minusDays(3), now.minusDays(2)),
+                new Booking(2L, first, BOOKER, Status.APPROVED, now.minusDays(2), now.minusDays(1)),
+                new Booking(3L, first, BOOKER, Status.WAITING, now.plusDays(2), now.plusDays(3)),
+                new Booking(4L, first, BOOKER, Status.WAITING, now.plusDays(1), now.plusDays(2)),
+                new Booking(5L, second, BOOKER, Status.APPROVED, now.minusHours(1), now.plusHours(1))
+        ));
+        List<ItemCommentsDTO> items = List.of(itemMapper.toItemCommentDto(first), itemMapper.toItemCommentDto(second));
+
+        itemBatchLoader.loadBookings(items);
+
+        assertEquals(2L, items.get(0).getLastBooking().getId());
+        assertEquals(4L, items.get(0).getNextBooking().getId());
+        assertEquals(5L, items.get(1).getLastBooking().getId());
+        assertNull(items.get(1).getNextBooking());
+    }
+
+    @Test
+    public void loadCommentsGroupsByItemTest() {
+        when(commentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(
+                new Comment(1L, "first", first, BOOKER, LocalDateTime.now()),
+                new Comment(2L, "second", first, BOOKER, LocalDateTime.now())
+        ));
+        List<ItemCommentsDTO> items = List.of(itemMapper.toItemCommentDto(first), itemMapper.toItemCommentDto(second));
+
+        itemBatchLoader.loadComments(items);
+
+        assertEquals(2, items.get(0).getComments().size());
+        assertEquals(0, items.get(1).getComments().size());
+    }
+}
@@ -7,12 +7,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingHistoryDto;
 import ru.practicum.shareit.comments.CommentDTO;
 import ru.practicum.shareit.comments.CommentService;
+import ru.practicum.shareit.common.OffsetBasedPageRequest;
+import ru.practicum.shareit.imports.ImportFormat;
+import ru.practicum.shareit.imports.ImportReport;
 import ru.practicum.shareit.user.UserDTO;
 
 import java.util.List;
@@ -38,6 +41,8 @@ public class ItemControllerTest {
     private ItemService itemService;
     @MockBean
     private CommentService commentService;
+    @MockBean
+    private ItemImportService itemImportService;
 
     @Autowired
     private MockMvc mvc;
@@ -89,13 +94,22 @@ public class ItemControllerTest {
         ItemDTO itemDTO = new ItemDTO(ITEM_ID, "otvertka", "krestovaya", true, new UserDTO(),
                 null, new BookingHistoryDto(), new BookingHistoryDto());
 
-        when(itemService.searchItemsByDescription(eq("krestovaya"), any(PageRequest.class))).thenReturn(List.of(itemDTO));
+        when(itemService.searchItemsByDescription(eq("krestovaya"), any(Pageable.class))).thenReturn(List.of(itemDTO));
 
         mvc.perform(get("/items/search?text=krestovaya"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemDTO))));
 
-        verify(itemService).searchItemsByDescription(eq("krestovaya"), any(PageRequest.class));
+        verify(itemService).searchItemsByDescription(eq("krestovaya"), any(Pageable.class));
+    }
+
+    @Test
+    @SneakyThrows
+    public void searchItemsHonorsExactOffsetTest() {
+        mvc.perform(get("/items/search?text=krestovaya&from=3&size=2"))
+                .andExpect(status().isOk());
+
+        verify(itemService).searchItemsByDescription("krestovaya", OffsetBasedPageRequest.of(3, 2));
     }
 
     @Test
@@ -126,14 +140,14 @@ public class ItemControllerTest {
 
         ItemCommentsDTO itemCommentsDTO = new ItemCommentsDTO();
 
-        when(itemService.getAllItemsByUserId(eq(USER_ID), any(PageRequest.class))).thenReturn(List.of(itemCommentsDTO));
+        when(itemService.getAllItemsByUserId(eq(USER_ID), any(Pageable.class))).thenReturn(List.of(itemCommentsDTO));
 
         mvc.perform(get("/items")
                         .header(X_SHARER_USER_ID, USER_ID))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemCommentsDTO))));
 
-        verify(itemService).getAllItemsByUserId(eq(USER_ID), any(PageRequest.class));
+        verify(itemService).getAllItemsByUserId(eq(USER_ID), any(Pageable.class));
     }
 
     @Test
@@ -152,5 +166,19 @@ public class ItemControllerTest {
 
         verify(commentService).addComment(commentDTO, USER_ID, ITEM_ID);
     }
-}
 
+    @Test
+    @SneakyThrows
+    public void importItemsFromCsvTest() {
+        when(itemImportService.importItems(any(), eq(ImportFormat.CSV), eq(USER_ID))).thenReturn(new ImportReport());
+
+        mvc.perform(post("/items/import")
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .contentType(ImportFormat.CSV_MEDIA_TYPE)
+                        .content("name,description,available\notvertka,krestovaya,true\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"total\":0,\"imported\":0,\"errors\":[]}"));
+
+        verify(itemImportService).importItems(any(), eq(ImportFormat.CSV), eq(USER_ID));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingHistoryDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemDetailsCacheTest {
+    private static final long ITEM_ID = 1L;
+
+    private final ItemDetailsCache cache = new ItemDetailsCache(100, Duration.ofMinutes(1));
+
+    @Test
+    public void evictionDuringLoadDropsLoadedBookingsTest() throws InterruptedException {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        BookingHistoryDto staleNext = new BookingHistoryDto(1L, 2L,
+                LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3));
+        Thread reader = new Thread(() -> cache.applyBookings(item(), () -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            ItemCommentsDTO loaded = item();
+            loaded.setNextBooking(staleNext);
+            return loaded;
+        }));
+        reader.start();
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        Thread evictor = new Thread(() -> cache.evictBookings(ITEM_ID));
+        evictor.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (evictor.getState() != Thread.State.BLOCKED && evictor.isAlive() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        releaseLoad.countDown();
+        reader.join();
+        evictor.join();
+
+        AtomicInteger loads = new AtomicInteger();
+        ItemCommentsDTO item = item();
+        cache.applyBookings(item, () -> {
+            loads.incrementAndGet();
+            return item();
+        });
+
+        assertEquals(1, loads.get());
+        assertNull(item.getNextBooking());
+    }
+
+    private static ItemCommentsDTO item() {
+        ItemCommentsDTO item = new ItemCommentsDTO(null);
+        item.setId(ITEM_ID);
+        return item;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
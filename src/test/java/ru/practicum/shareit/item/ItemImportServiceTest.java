@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.imports.BulkImporter;
+import ru.practicum.shareit.imports.ImportError;
+import ru.practicum.shareit.imports.ImportFormat;
+import ru.practicum.shareit.imports.ImportReport;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserImportService;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "shareit.import.chunk-size=2")
+@Import({BulkImporter.class, ItemImportService.class, UserImportService.class, UserMapper.class, LikeItemSearchEngine.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportServiceTest {
+    private final ItemImportService itemImportService;
+    private final UserImportService userImportService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+    }
+
+    @Test
+    public void importItemsFromCsvReportsRejectedRowsTest() {
+        String csv = "ownerId,name,description,available,requestId\n" +
+                ",Дрель,ударная,true,\n" +
+                "999,Пила,циркулярная,true,\n" +
+                ",,без названия,true,\n" +
+                ",Рубанок,ручной,false,777\n" +
+                owner.getId() + ",Стремянка,\"3 ступени, алюминий\",true,\n";
+
+        ImportReport report = itemImportService.importItems(body(csv), ImportFormat.CSV, owner.getId());
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(2L, 3L, 4L), report.getErrors().stream().map(ImportError::getRow).collect(Collectors.toList()));
+        assertEquals(List.of("Дрель", "Стремянка"), itemRepository.findAllByOwnerId(owner.getId(), Pageable.unpaged())
+                .map(Item::getName).getContent());
+    }
+
+    @Test
+    public void importUsersFromNdjsonSkipsDuplicatesAndMalformedLinesTest() {
+        String ndjson = "{\"name\":\"first\",\"email\":\"first@mail.ru\"}\n" +
+                "{\"name\":\"owner again\",\"email\":\"owner@mail.ru\"}\n" +
+                "{\"name\":\"broken\"\n" +
+                "\n" +
+                "{\"name\":\"second\",\"email\":\"second@mail.ru\"}\n" +
+                "{\"name\":\"first again\",\"email\":\"first@mail.ru\"}\n";
+
+        ImportReport report = userImportService.importUsers(body(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(2L, 3L, 5L), report.getErrors().stream().map(ImportError::getRow).collect(Collectors.toList()));
+        assertEquals(3, userRepository.count());
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -47,11 +47,18 @@ public class ItemRepositoryTest {
         item3.setOwner(user);
         item3.setAvailable(true);
         itemRepository.save(item3);
+
+        Item item4 = new Item();
+        item4.setName("Krestovina");
+        item4.setDescription("unavailable");
+        item4.setOwner(user);
+        item4.setAvailable(false);
+        itemRepository.save(item4);
     }
 
     @Test
     public void testCustomMethod() {
-        List<Item> response = itemRepository.findAllByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("KREST", Pageable.unpaged());
+        List<Item> response = itemRepository.findAllAvailableByNameOrDescriptionContaining("KREST", Pageable.unpaged()).getContent();
 
         assertNotNull(response);
         assertEquals(2, response.size());
@@ -4,21 +4,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import ru.practicum.shareit.booking.BookingDTO;
-import ru.practicum.shareit.booking.BookingService;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointers;
+import ru.practicum.shareit.booking.ItemBookingPointersRepository;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.comments.CommentMapper;
 import ru.practicum.shareit.comments.CommentRepository;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exports.NdjsonExporter;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,30 +40,40 @@ public class ItemServiceTest {
 
     private static User TEST_OWNER;
     private static Item TEST_ITEM;
-    private static BookingDTO TEST_BOOKING_DTO;
+    private static Booking TEST_BOOKING;
 
 
     private ItemService itemService;
     private ItemRepository itemRepository;
-    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private ItemBookingPointersRepository itemBookingPointersRepository;
     private UserRepository userRepository;
+    private ItemSearchEngine itemSearchEngine;
+    private BookingIntervalIndex bookingIntervalIndex;
 
     @BeforeEach
     public void setUp() {
         itemRepository = mock(ItemRepository.class);
         CommentRepository commentRepository = mock(CommentRepository.class);
-        bookingService = mock(BookingService.class);
+        bookingRepository = mock(BookingRepository.class);
+        itemBookingPointersRepository = mock(ItemBookingPointersRepository.class);
         userRepository = mock(UserRepository.class);
+        itemSearchEngine = mock(ItemSearchEngine.class);
+        bookingIntervalIndex = mock(BookingIntervalIndex.class);
         ItemRequestRepository itemRequestRepository = mock(ItemRequestRepository.class);
 
+        ItemMapper itemMapper = new ItemMapper(new UserMapper());
         itemService = new ItemServiceImpl(
-                new ItemMapper(new UserMapper()),
+                itemMapper,
                 itemRepository,
                 userRepository,
-                bookingService,
-                new CommentMapper(),
-                commentRepository,
-                itemRequestRepository
+                itemRequestRepository,
+                new ItemBatchLoader(commentRepository, new CommentMapper(), bookingRepository,
+                        itemBookingPointersRepository, itemRepository, itemMapper),
+                itemSearchEngine,
+                new ItemDetailsCache(100, Duration.ofMinutes(1)),
+                bookingIntervalIndex,
+                mock(NdjsonExporter.class)
         );
 
         TEST_OWNER = new User(USER_ID, "test", "test@mail.ru");
@@ -69,10 +86,10 @@ public class ItemServiceTest {
                 null
         );
 
-        TEST_BOOKING_DTO = new BookingDTO(
+        TEST_BOOKING = new Booking(
                 BOOKING_ID,
-                new ItemMapper(new UserMapper()).toItemDTO(TEST_ITEM),
-                new UserMapper().toUserDTO(TEST_OWNER),
+                TEST_ITEM,
+                TEST_OWNER,
                 Status.APPROVED,
                 LocalDateTime.now(),
                 LocalDateTime.now().plusHours(2)
@@ -82,7 +99,8 @@ public class ItemServiceTest {
     @Test
     public void getItemTest() {
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.ofNullable(TEST_ITEM));
-        when(bookingService.getAllBookingsOfItemsIds(List.of(ITEM_ID))).thenReturn(List.of(TEST_BOOKING_DTO));
+        when(itemBookingPointersRepository.findAllByItemIdIn(Set.of(ITEM_ID)))
+                .thenReturn(List.of(new ItemBookingPointers(ITEM_ID, TEST_BOOKING, null, null)));
 
         ItemCommentsDTO item = itemService.getItem(ITEM_ID, USER_ID);
 
@@ -92,10 +110,54 @@ public class ItemServiceTest {
 
     }
 
+    @Test
+    public void getItemServesRepeatedReadsFromCacheTest() {
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.ofNullable(TEST_ITEM));
+        when(itemBookingPointersRepository.findAllByItemIdIn(Set.of(ITEM_ID)))
+                .thenReturn(List.of(new ItemBookingPointers(ITEM_ID, TEST_BOOKING, null, null)));
+
+        ItemCommentsDTO first = itemService.getItem(ITEM_ID, USER_ID);
+        ItemCommentsDTO forOtherUser = itemService.getItem(ITEM_ID, USER_ID + 1);
+        ItemCommentsDTO second = itemService.getItem(ITEM_ID, USER_ID);
+
+        assertEquals(first, second);
+        assertNull(forOtherUser.getLastBooking());
+        verify(itemRepository, times(1)).findById(ITEM_ID);
+        verify(itemBookingPointersRepository, times(1)).findAllByItemIdIn(Set.of(ITEM_ID));
+    }
+
+    @Test
+    public void getItemReloadsBookingsAfterLastBookingEndsTest() throws InterruptedException {
+        TEST_BOOKING.setEnd(LocalDateTime.now().plus(Duration.ofMillis(300)));
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.ofNullable(TEST_ITEM));
+        when(itemBookingPointersRepository.findAllByItemIdIn(Set.of(ITEM_ID)))
+                .thenReturn(List.of(new ItemBookingPointers(ITEM_ID, TEST_BOOKING, null, null)));
+
+        itemService.getItem(ITEM_ID, USER_ID);
+        itemService.getItem(ITEM_ID, USER_ID);
+        Thread.sleep(400);
+        itemService.getItem(ITEM_ID, USER_ID);
+
+        verify(itemBookingPointersRepository, times(2)).findAllByItemIdIn(Set.of(ITEM_ID));
+    }
+
+    @Test
+    public void updateItemEvictsCachedDetailsTest() {
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.ofNullable(TEST_ITEM));
+        when(itemRepository.save(any(Item.class))).thenReturn(TEST_ITEM);
+        itemService.getItem(ITEM_ID, USER_ID + 1);
+
+        ItemDTO patch = new ItemDTO();
+        patch.setName("shurupovert");
+        itemService.updateItem(patch, ITEM_ID, USER_ID);
+
+        assertEquals("shurupovert", itemService.getItem(ITEM_ID, USER_ID + 1).getName());
+    }
+
     @Test
     public void getAllItemsByUserIdTest() {
         when(userRepository.findById(eq(TEST_OWNER.getId()))).thenReturn(Optional.ofNullable(TEST_OWNER));
-        when(itemRepository.findAllByOwnerId(eq(TEST_OWNER.getId()), any(PageRequest.class))).thenReturn(List.of(TEST_ITEM));
+        when(itemRepository.findAllByOwnerId(eq(TEST_OWNER.getId()), any(PageRequest.class))).thenReturn(new SliceImpl<>(List.of(TEST_ITEM)));
 
         List<ItemCommentsDTO> allItemsByUserId = itemService.getAllItemsByUserId(TEST_OWNER.getId(), PageRequest.of(0, 10));
 
@@ -137,6 +199,7 @@ public class ItemServiceTest {
         assertNotNull(itemDTO);
 
         verify(itemRepository).save(any(Item.class));
+        verify(itemSearchEngine).update(TEST_ITEM);
     }
 
     @Test
@@ -157,11 +220,13 @@ public class ItemServiceTest {
         itemService.removeItem(TEST_ITEM.getId());
 
         verify(itemRepository).deleteById(TEST_ITEM.getId());
+        verify(itemSearchEngine).remove(TEST_ITEM.getId());
+        verify(bookingIntervalIndex).evict(TEST_ITEM.getId());
     }
 
     @Test
     public void searchItemsByDescriptionTest() {
-        when(itemRepository.findAllByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(any(String.class), any(PageRequest.class)))
+        when(itemSearchEngine.search(any(String.class), any(PageRequest.class)))
                 .thenReturn(List.of(TEST_ITEM));
 
         Collection<ItemDTO> hello = itemService.searchItemsByDescription("Hello", PageRequest.of(0, 10));
@@ -172,12 +237,10 @@ public class ItemServiceTest {
 
     @Test
     public void searchItemsByDescriptionWhenKeywordIsBlack() {
-        when(itemRepository.findAllByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("", Pageable.ofSize(10)))
-                .thenReturn(List.of());
-
         Collection<ItemDTO> emptyListOfItems = itemService.searchItemsByDescription("", PageRequest.of(0, 10));
 
         assertNotNull(emptyListOfItems);
         assertEquals(0, emptyListOfItems.size());
+        verifyNoInteractions(itemSearchEngine);
     }
 }
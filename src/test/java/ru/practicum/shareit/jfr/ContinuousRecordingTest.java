@@ -0,0 +1,52 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ContinuousRecordingTest {
+    private ContinuousRecording continuousRecording;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        continuousRecording = new ContinuousRecording("default", Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        continuousRecording.destroy();
+    }
+
+    @Test
+    public void dumpContainsCommittedEventsTest() throws Exception {
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
+        event.setEngine("LikeItemSearchEngine");
+        event.setTextLength(5);
+        event.setResultSize(3);
+        event.commit();
+
+        Path dump = continuousRecording.dump();
+        try {
+            List<RecordedEvent> searches = RecordingFile.readAllEvents(dump).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("ru.practicum.shareit.ItemSearch"))
+                    .collect(Collectors.toList());
+            assertEquals(1, searches.size());
+            assertEquals(3, searches.get(0).getInt("resultSize"));
+            assertEquals("LikeItemSearchEngine", searches.get(0).getString("engine"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.user.UserController;
+
+import javax.servlet.FilterChain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestResourceFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void recordsAllocationPerHandlerTest() throws Exception {
+        RequestResourceFilter filter = new RequestResourceFilter(meterRegistry, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(new UserController(null, null), "getAllUsers");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            res.getWriter().write(new String(new byte[64 * 1024]));
+        };
+
+        filter.doFilter(request, response, chain);
+
+        DistributionSummary allocated = meterRegistry.find(RequestResourceFilter.ALLOCATED_METRIC)
+                .tag("handler", "UserController.getAllUsers")
+                .summary();
+        assertNotNull(allocated);
+        assertEquals(1, allocated.count());
+        assertTrue(allocated.totalAmount() >= 64 * 1024);
+        assertNotNull(meterRegistry.find(RequestResourceFilter.CPU_METRIC).tag("handler", "UserController.getAllUsers").timer());
+        assertNotNull(response.getHeader(RequestResourceFilter.ALLOCATED_HEADER));
+        assertNotNull(response.getHeader(RequestResourceFilter.CPU_HEADER));
+    }
+
+    @Test
+    public void omitsHeadersByDefaultTest() throws Exception {
+        RequestResourceFilter filter = new RequestResourceFilter(meterRegistry, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), response, (req, res) -> { });
+
+        assertNull(response.getHeader(RequestResourceFilter.ALLOCATED_HEADER));
+        assertNotNull(meterRegistry.find(RequestResourceFilter.ALLOCATED_METRIC).tag("handler", "none").summary());
+    }
+}
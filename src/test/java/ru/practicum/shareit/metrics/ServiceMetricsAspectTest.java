@@ -0,0 +1,52 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.user.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ServiceMetricsAspectTest {
+    private SimpleMeterRegistry meterRegistry;
+    private UserService target;
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = mock(UserService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        userService = factory.getProxy();
+    }
+
+    @Test
+    public void timesServiceMethodsTest() {
+        userService.getAll();
+        userService.getAll();
+
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.METRIC)
+                .tag("service", "UserService")
+                .tag("method", "getAll")
+                .tag("exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    public void tagsFailedCallsWithExceptionTest() {
+        when(target.getUserById(1L)).thenThrow(new EntityNotFoundException("not found"));
+
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(1L));
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.METRIC)
+                .tag("method", "getUserById")
+                .tag("exception", "EntityNotFoundException")
+                .timer().count());
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -62,7 +62,7 @@ public class ItemRequestControllerTest {
     @Test
     @SneakyThrows
     public void getPrivateRequestsTest() {
-        when(itemRequestService.getPrivateRequests(eq(USER_ID), any(PageRequest.class)))
+        when(itemRequestService.getPrivateRequests(eq(USER_ID), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
 
         mvc.perform(get("/requests")
@@ -70,13 +70,13 @@ public class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
 
-        verify(itemRequestService).getPrivateRequests(eq(USER_ID), any(PageRequest.class));
+        verify(itemRequestService).getPrivateRequests(eq(USER_ID), any(Pageable.class));
     }
 
     @Test
     @SneakyThrows
     public void getOtherRequestsTest() {
-        when(itemRequestService.getOtherRequests(eq(USER_ID), any(PageRequest.class)))
+        when(itemRequestService.getOtherRequests(eq(USER_ID), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
 
         mvc.perform(get("/requests/all")
@@ -84,7 +84,7 @@ public class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
 
-        verify(itemRequestService).getOtherRequests(eq(USER_ID), any(PageRequest.class));
+        verify(itemRequestService).getOtherRequests(eq(USER_ID), any(Pageable.class));
     }
 
     @Test
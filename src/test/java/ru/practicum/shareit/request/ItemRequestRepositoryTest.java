@@ -4,14 +4,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -49,7 +53,7 @@ public class ItemRequestRepositoryTest {
     @Test
     public void findAllByRequestorId() {
         List<ItemRequest> allByRequestorId =
-                itemRequestRepository.findAllByRequestorId(Pageable.unpaged(), user.getId());
+                itemRequestRepository.findAllByRequestorId(Pageable.unpaged(), user.getId()).getContent();
 
         assertEquals(1, allByRequestorId.size());
     }
@@ -57,9 +61,30 @@ public class ItemRequestRepositoryTest {
     @Test
     public void findAllByRequestorIdNot() {
         List<ItemRequest> allByRequestorId =
-                itemRequestRepository.findAllByRequestorIdNot(Pageable.unpaged(), user.getId());
+                itemRequestRepository.findAllByRequestorIdNot(Pageable.unpaged(), user.getId()).getContent();
 
         assertEquals(0, allByRequestorId.size());
     }
-}
 
+    @Test
+    public void findAllByRequestorIdBefore() {
+        LocalDateTime created = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        ItemRequest older = new ItemRequest();
+        older.setRequestor(user);
+        older.setDescription("older");
+        older.setCreated(created);
+        itemRequestRepository.save(older);
+        ItemRequest sameTime = new ItemRequest();
+        sameTime.setRequestor(user);
+        sameTime.setDescription("same time, larger id");
+        sameTime.setCreated(created);
+        itemRequestRepository.save(sameTime);
+        PageRequest firstPage = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id")));
+
+        List<ItemRequest> afterSameTime =
+                itemRequestRepository.findAllByRequestorIdBefore(user.getId(), created, sameTime.getId(), firstPage);
+
+        assertEquals(List.of(older.getId()), afterSameTime.stream().map(ItemRequest::getId).collect(Collectors.toList()));
+        assertEquals(0, itemRequestRepository.findAllByRequestorIdNotBefore(user.getId(), created, sameTime.getId(), firstPage).size());
+    }
+}
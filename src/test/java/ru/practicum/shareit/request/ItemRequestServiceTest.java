@@ -3,7 +3,15 @@ package ru.practicum.shareit.request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.common.KeysetCursor;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exceptions.IncorrectCursorException;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointersRepository;
+import ru.practicum.shareit.comments.CommentMapper;
+import ru.practicum.shareit.comments.CommentRepository;
+import ru.practicum.shareit.item.ItemBatchLoader;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
@@ -16,6 +24,7 @@ import java.util.Optional;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -38,8 +47,10 @@ public class ItemRequestServiceTest {
         itemRepository = mock(ItemRepository.class);
         ItemMapper itemMapper = new ItemMapper(new UserMapper());
         ItemRequestMapper itemRequestMapper = new ItemRequestMapper();
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
-                itemMapper, itemRequestMapper);
+        ItemBatchLoader itemBatchLoader = new ItemBatchLoader(mock(CommentRepository.class), new CommentMapper(),
+                mock(BookingRepository.class), mock(ItemBookingPointersRepository.class), itemRepository, itemMapper);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRequestMapper,
+                itemBatchLoader);
 
         USER = new User(USER_ID, "test", "test@mail.ru");
         ITEM_REQUEST = new ItemRequest();
@@ -94,7 +105,7 @@ public class ItemRequestServiceTest {
 
         when(userRepository.existsById(USER_ID)).thenReturn(true);
         when(itemRequestRepository.findAllByRequestorId(any(PageRequest.class), eq(USER_ID)))
-                .thenReturn(List.of(ITEM_REQUEST));
+                .thenReturn(new SliceImpl<>(List.of(ITEM_REQUEST)));
 
         List<ItemRequestDtoResponse> response = itemRequestService
                 .getPrivateRequests(USER_ID, PageRequest.of(0, 10));
@@ -127,7 +138,7 @@ public class ItemRequestServiceTest {
 
         when(userRepository.existsById(USER_ID)).thenReturn(true);
         when(itemRequestRepository.findAllByRequestorIdNot(any(PageRequest.class), eq(USER_ID)))
-                .thenReturn(List.of(ITEM_REQUEST));
+                .thenReturn(new SliceImpl<>(List.of(ITEM_REQUEST)));
 
         List<ItemRequestDtoResponse> response = itemRequestService
                 .getOtherRequests(USER_ID, PageRequest.of(0, 10));
@@ -160,7 +171,7 @@ public class ItemRequestServiceTest {
     public void getItemRequestTest() {
         when(userRepository.existsById(USER_ID)).thenReturn(true);
         when(itemRequestRepository.findById(ITEM_REQUEST_ID)).thenReturn(Optional.ofNullable(ITEM_REQUEST));
-        when(itemRepository.findAllByRequestId(ITEM_REQUEST_ID)).thenReturn(List.of());
+        when(itemRepository.findAllByRequestIdIn(List.of(ITEM_REQUEST_ID))).thenReturn(List.of());
 
         ItemRequestDtoResponse response = itemRequestService.getItemRequest(USER_ID, ITEM_REQUEST_ID);
 
@@ -169,7 +180,7 @@ public class ItemRequestServiceTest {
 
         verify(userRepository).existsById(USER_ID);
         verify(itemRequestRepository).findById(ITEM_REQUEST_ID);
-        verify(itemRepository).findAllByRequestId(ITEM_REQUEST_ID);
+        verify(itemRepository).findAllByRequestIdIn(List.of(ITEM_REQUEST_ID));
     }
 
     @Test
@@ -199,4 +210,12 @@ public class ItemRequestServiceTest {
         verify(userRepository).existsById(USER_ID);
         verify(itemRequestRepository).findById(ITEM_REQUEST_ID);
     }
+
+    @Test
+    public void getOtherRequestsAfterRejectsCursorWithoutKeyTest() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        assertThrows(IncorrectCursorException.class,
+                () -> itemRequestService.getOtherRequestsAfter(USER_ID, new KeysetCursor(null, ITEM_REQUEST_ID), 10));
+    }
 }
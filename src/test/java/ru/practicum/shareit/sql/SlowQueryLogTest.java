@@ -0,0 +1,71 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({SqlStatsDataSourcePostProcessor.class, SlowQueryLog.class})
+@TestPropertySource(properties = {
+        "shareit.sql.slow-query.threshold=0ms",
+        "shareit.sql.slow-query.redact-parameters=false",
+        "shareit.sql.slow-query.top=1000"
+})
+public class SlowQueryLogTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    public void setUp() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    public void recordsParametersAndRowsOfSlowStatementsTest() {
+        User owner = entityManager.persist(new User(null, "owner", "owner@mail.ru"));
+        entityManager.persist(new Item(null, "drill", "description", true, owner, null));
+        entityManager.persist(new Item(null, "saw", "description", true, owner, null));
+        entityManager.flush();
+
+        itemRepository.findAllByOwnerId(owner.getId(), Pageable.unpaged());
+
+        SlowQueryDto select = slowQueryLog.slowest().stream()
+                .filter(query -> query.getStatement().startsWith("select") && query.getStatement().contains(" from public.items "))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, select.getRowsOfSlowest());
+        assertEquals("[" + owner.getId() + "]", select.getParametersOfSlowest());
+    }
+
+    @Test
+    public void redactsParametersTest() {
+        SlowQueryLog redacting = new SlowQueryLog(Duration.ZERO, true, 20);
+        SqlStatementListener.Execution execution = redacting.beforeExecute("select * from users where email = ?");
+        execution.afterExecute(null);
+        execution.completed(List.of("owner@mail.ru"), 1);
+
+        List<SlowQueryDto> slowest = redacting.slowest();
+
+        assertEquals(1, slowest.size());
+        assertEquals("[" + SlowQueryLog.REDACTED + "]", slowest.get(0).getParametersOfSlowest());
+        assertTrue(slowest.get(0).getStatement().contains("email = ?"));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(SqlStatsDataSourcePostProcessor.class)
+public class SqlStatsDataSourceTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @AfterEach
+    public void tearDown() {
+        SqlRequestStats.end();
+    }
+
+    @Test
+    public void countsStatementsRowsAndRepeatedShapesTest() {
+        for (int i = 0; i < 3; i++) {
+            User owner = entityManager.persist(new User(null, "owner" + i, "owner" + i + "@mail.ru"));
+            entityManager.persist(new Item(null, "item" + i, "description", true, owner, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlRequestStats stats = SqlRequestStats.begin("GET /items", 2);
+
+        itemRepository.findAll().forEach(item -> item.getOwner().getName());
+
+        assertEquals(4, stats.getStatements());
+        assertEquals(6, stats.getRows());
+        assertEquals(1, stats.getRepeatedShapes());
+    }
+
+    @Test
+    public void ignoresStatementsOutsideRequestTest() {
+        SqlRequestStats stats = SqlRequestStats.begin("GET /items", 2);
+        SqlRequestStats.end();
+
+        itemRepository.findAll();
+
+        assertEquals(0, stats.getStatements());
+    }
+}
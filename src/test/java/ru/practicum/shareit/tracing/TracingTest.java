@@ -0,0 +1,97 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "tracing"})
+public class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final Path DIRECTORY = createDirectory();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private Tracing tracing;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void tracingProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit.tracing.file", () -> DIRECTORY.resolve("spans.%g.jsonl").toString());
+    }
+
+    @Test
+    public void tracesControllerServiceRepositoryAndJdbcTest() throws Exception {
+        User owner = userRepository.save(new User(null, "traced", "traced@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner, null));
+
+        mvc.perform(get("/items/" + item.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("traceparent", startsWith("00-" + TRACE_ID + "-")));
+        tracing.flush();
+
+        Map<String, JsonNode> spans = new HashMap<>();
+        for (String line : Files.readAllLines(DIRECTORY.resolve("spans.0.jsonl"))) {
+            for (JsonNode scopeSpans : objectMapper.readTree(line).get("scopeSpans")) {
+                for (JsonNode span : scopeSpans.get("spans")) {
+                    if (TRACE_ID.equals(span.get("traceId").asText())) {
+                        spans.put(span.get("name").asText(), span);
+                    }
+                }
+            }
+        }
+        JsonNode controller = spans.get("ItemController.getItem");
+        JsonNode service = spans.get("ItemServiceImpl.getItem");
+        JsonNode repository = spans.get("ItemRepository.findById");
+        assertNotNull(controller);
+        assertNotNull(service);
+        assertNotNull(repository);
+        assertEquals("00f067aa0ba902b7", controller.get("parentSpanId").asText());
+        assertEquals(controller.get("spanId"), service.get("parentSpanId"));
+        assertEquals(service.get("spanId"), repository.get("parentSpanId"));
+        assertTrue(spans.containsKey("JDBC SELECT"));
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("shareit-tracing");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
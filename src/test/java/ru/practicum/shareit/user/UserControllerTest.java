@@ -18,6 +18,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -26,6 +27,8 @@ public class UserControllerTest {
 
     @MockBean
     private UserService userService;
+    @MockBean
+    private UserImportService userImportService;
 
     @Autowired
     private MockMvc mvc;
@@ -42,6 +45,8 @@ public class UserControllerTest {
 
         mvc.perform(get("/users/5"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-SQL-Count", "0"))
+                .andExpect(header().exists("X-Allocated-Bytes"))
                 .andExpect(content().json(objectMapper.writeValueAsString(userDTO)));
 
         verify(userService).getUserById(5L);
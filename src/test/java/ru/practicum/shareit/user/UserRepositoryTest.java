@@ -6,14 +6,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.RecordingStatementInspector;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.RecordingStatementInspector")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserRepositoryTest {
 
@@ -48,4 +52,20 @@ public class UserRepositoryTest {
 
         assertEquals(0, all.size());
     }
+
+    @Test
+    public void saveAllAllocatesIdsInBlocksAndBatchesInsertsTest() {
+        List<User> users = IntStream.range(0, 70)
+                .mapToObj(i -> new User(null, "user" + i, "user" + i + "@test.ru"))
+                .collect(Collectors.toList());
+        RecordingStatementInspector.drain();
+
+        userRepository.saveAll(users);
+        userRepository.flush();
+
+        List<String> statements = RecordingStatementInspector.drain();
+        assertTrue(statements.stream().filter(sql -> sql.contains("users_seq")).count() <= 2);
+        assertTrue(statements.stream().filter(sql -> sql.startsWith("insert")).count() <= 2);
+        assertEquals(70, users.stream().map(User::getId).distinct().count());
+    }
 }
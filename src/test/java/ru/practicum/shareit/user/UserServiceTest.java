@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exports.NdjsonExporter;
 
 import java.util.Collection;
 import java.util.List;
@@ -26,7 +27,7 @@ public class UserServiceTest {
     void setUp() {
         UserMapper userMapper = new UserMapper();
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userMapper, userRepository);
+        userService = new UserServiceImpl(userMapper, userRepository, mock(NdjsonExporter.class));
     }
 
     @Test
@@ -0,0 +1,3 @@
+CREATE TRIGGER IF NOT EXISTS bookings_no_overlap
+    BEFORE INSERT, UPDATE ON bookings
+    FOR EACH ROW CALL 'ru.practicum.shareit.booking.BookingOverlapTrigger';